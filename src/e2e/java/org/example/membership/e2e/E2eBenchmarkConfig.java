@@ -0,0 +1,35 @@
+package org.example.membership.e2e;
+
+import org.example.membership.batch.PipelinedBatchRunner;
+import org.example.membership.batch.WritePhaseService;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * 벤치마크 계측 연결: DataSource 는 JDBC 호출 카운터로, 배치 단계 서비스는 단계 타이머 프록시로 감쌉니다.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+class E2eBenchmarkConfig {
+
+    static final SqlStatementCounter SQL_COUNTER = new SqlStatementCounter();
+    static final PhaseTimer PHASE_TIMER = new PhaseTimer(SQL_COUNTER);
+
+    @Bean
+    static BeanPostProcessor e2eBenchmarkInstrumentation() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return SQL_COUNTER.wrap(dataSource);
+                }
+                if (bean instanceof WritePhaseService || bean instanceof PipelinedBatchRunner) {
+                    return PHASE_TIMER.proxy(bean);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.membership.e2e;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * WritePhaseService / PipelinedBatchRunner 의 public 메서드 호출을 단계(메서드 이름)별로 계측합니다.
+ * 단계마다 벽시계 시간과, 그 사이 발생한 JDBC 호출 수(SqlStatementCounter 차분)를 누적합니다.
+ * 파티션 모드에서는 단계 메서드가 여러 스레드에서 동시에 끝나므로 누적 맵 접근은 동기화합니다.
+ */
+public final class PhaseTimer {
+
+    private final SqlStatementCounter sqlCounter;
+    private final Map<String, PhaseStat> phases = new LinkedHashMap<>();
+
+    public PhaseTimer(SqlStatementCounter sqlCounter) {
+        this.sqlCounter = sqlCounter;
+    }
+
+    public Object proxy(Object target) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice((MethodInterceptor) invocation -> {
+            String phase = invocation.getMethod().getName();
+            SqlStatementCounter.Snapshot before = sqlCounter.snapshot();
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                long elapsedNanos = System.nanoTime() - start;
+                SqlStatementCounter.Snapshot delta = sqlCounter.snapshot().minus(before);
+                synchronized (phases) {
+                    phases.merge(phase, new PhaseStat(elapsedNanos, delta), PhaseStat::plus);
+                }
+            }
+        });
+        return factory.getProxy();
+    }
+
+    public Map<String, PhaseStat> phases() {
+        synchronized (phases) {
+            return new LinkedHashMap<>(phases);
+        }
+    }
+
+    public void reset() {
+        synchronized (phases) {
+            phases.clear();
+        }
+    }
+
+    public record PhaseStat(long elapsedNanos, SqlStatementCounter.Snapshot sql) {
+        PhaseStat plus(PhaseStat other) {
+            return new PhaseStat(elapsedNanos + other.elapsedNanos,
+                    new SqlStatementCounter.Snapshot(
+                            sql.statements() + other.sql.statements(),
+                            sql.batches() + other.sql.batches(),
+                            sql.batchedRows() + other.sql.batchedRows()));
+        }
+
+        public long millis() {
+            return elapsedNanos / 1_000_000;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package org.example.membership.e2e;
+
+import org.example.membership.batch.SnapshotBatchOrchestrator;
+import org.example.membership.service.FastDataGenerationService;
+import org.example.membership.service.jpa.JpaOrderService;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 스냅샷 배치 E2E 벤치마크.
+ *
+ * 실제 MySQL 8 (Testcontainers) 에 FastDataGenerationService 로 N명 규모 데이터를 시드한 뒤
+ * runFullBatch 를 한 번 실행하고 단계별 소요 시간, 처리량(rows/s), JDBC 호출 수, 힙 피크를 기록합니다.
+ * 배치 전략 토글(batch.snapshot.*)은 -P 프로퍼티로 넘겨 같은 데이터셋에서 비교합니다.
+ *
+ * H2(MySQL 모드)는 UPDATE ... JOIN, ON DUPLICATE KEY UPDATE ... VALUES(), DATE_FORMAT,
+ * 스트리밍 fetch size(Integer.MIN_VALUE) 등을 지원하지 않아 측정 대상 경로 자체를 실행할 수 없습니다.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.example.membership=WARN"
+})
+@Testcontainers
+@Import(E2eBenchmarkConfig.class)
+class SnapshotBatchE2eBenchmark {
+
+    private static final LocalDate TARGET_DATE = LocalDate.of(2025, 6, 1);
+    private static final int BATCH_SIZE = 1000;
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0.36")
+            .withDatabaseName("membership")
+            .withUrlParam("rewriteBatchedStatements", "true")
+            .withCommand("--max_allowed_packet=256M", "--innodb_buffer_pool_size=1G");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.driver-class-name", () -> "com.mysql.cj.jdbc.Driver");
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @Autowired
+    private FastDataGenerationService fastDataGenerationService;
+
+    @Autowired
+    private JpaOrderService jpaOrderService;
+
+    @Autowired
+    private SnapshotBatchOrchestrator orchestrator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    static Stream<Integer> scales() {
+        return Arrays.stream(System.getProperty("e2e.users", "10000").split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(Integer::parseInt);
+    }
+
+    @ParameterizedTest(name = "users={0}")
+    @MethodSource("scales")
+    void runFullBatch(int users) throws IOException {
+        resetSchema();
+
+        long seedStart = System.nanoTime();
+        fastDataGenerationService.generateAll(users);
+        jpaOrderService.rebuildMonthlyStats();
+        long seedMillis = (System.nanoTime() - seedStart) / 1_000_000;
+
+        SqlStatementCounter sqlCounter = E2eBenchmarkConfig.SQL_COUNTER;
+        PhaseTimer phaseTimer = E2eBenchmarkConfig.PHASE_TIMER;
+        sqlCounter.reset();
+        phaseTimer.reset();
+        resetPeakHeap();
+
+        long start = System.nanoTime();
+        boolean ran = orchestrator.runFullBatch(TARGET_DATE, BATCH_SIZE);
+        long totalMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(ran, "다른 배치가 실행 중이어서 벤치마크를 수행하지 못했습니다.");
+
+        long peakHeapMb = peakHeapBytes() / (1024 * 1024);
+        Map<String, Long> rows = Map.of(
+                "badge_results", count("badge_results"),
+                "level_results", count("level_results"),
+                "coupon_issue_log", count("coupon_issue_log"));
+
+        report(users, seedMillis, totalMillis, peakHeapMb, rows, phaseTimer.phases(), sqlCounter.snapshot());
+    }
+
+    /**
+     * Spring Batch 메타 테이블(대문자 BATCH_*)과 WAS 인스턴스 테이블을 제외한 모든 테이블을 비웁니다.
+     * information_schema 비교는 대소문자를 무시하므로 BINARY 로 비교해야 batch_execution_log / batch_work_unit /
+     * batch_checkpoint 까지 비워져 실행 간 상태가 남지 않습니다.
+     */
+    private void resetSchema() {
+        List<String> tables = jdbcTemplate.queryForList(
+                "SELECT table_name FROM information_schema.tables " +
+                        "WHERE table_schema = DATABASE() AND BINARY table_name NOT LIKE 'BATCH\\_%' AND table_name <> 'was_instance'",
+                String.class);
+        jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 0");
+        try {
+            tables.forEach(t -> jdbcTemplate.execute("TRUNCATE TABLE `" + t + "`"));
+        } finally {
+            jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 1");
+        }
+    }
+
+    private long count(String table) {
+        Long n = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        return n == null ? 0 : n;
+    }
+
+    private static void resetPeakHeap() {
+        System.gc();
+        ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(p -> p.getType() == MemoryType.HEAP)
+                .forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    /** 힙 풀별 피크의 합 (풀마다 피크 시점이 달라 실제 피크보다 약간 크게 잡힐 수 있음) */
+    private static long peakHeapBytes() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(p -> p.getType() == MemoryType.HEAP)
+                .mapToLong(p -> p.getPeakUsage().getUsed())
+                .sum();
+    }
+
+    private static void report(int users, long seedMillis, long totalMillis, long peakHeapMb,
+                               Map<String, Long> rows,
+                               Map<String, PhaseTimer.PhaseStat> phases,
+                               SqlStatementCounter.Snapshot total) throws IOException {
+        String strategy = System.getProperties().stringPropertyNames().stream()
+                .filter(k -> k.startsWith("batch."))
+                .sorted()
+                .map(k -> k + "=" + System.getProperty(k))
+                .collect(Collectors.joining(";"));
+
+        System.out.printf("%n[E2E] users=%d | seed=%dms | batch=%dms | peakHeap=%dMB | strategy=%s%n",
+                users, seedMillis, totalMillis, peakHeapMb, strategy.isEmpty() ? "default" : strategy);
+        System.out.printf("[E2E] rows badge_results=%d level_results=%d coupon_issue_log=%d%n",
+                rows.get("badge_results"), rows.get("level_results"), rows.get("coupon_issue_log"));
+        System.out.printf("%-32s %10s %12s %10s %10s %12s%n", "phase", "ms", "users/s", "stmts", "batches", "batchedRows");
+
+        List<String> csv = new ArrayList<>();
+        phases.forEach((phase, stat) -> {
+            long perSec = stat.millis() == 0 ? 0 : users * 1000L / stat.millis();
+            System.out.printf("%-32s %10d %12d %10d %10d %12d%n", phase, stat.millis(), perSec,
+                    stat.sql().statements(), stat.sql().batches(), stat.sql().batchedRows());
+            csv.add(String.join(",", String.valueOf(users), phase, String.valueOf(stat.millis()), String.valueOf(perSec),
+                    String.valueOf(stat.sql().statements()), String.valueOf(stat.sql().batches()),
+                    String.valueOf(stat.sql().batchedRows()), "", quote(strategy)));
+        });
+        long totalPerSec = totalMillis == 0 ? 0 : users * 1000L / totalMillis;
+        System.out.printf("%-32s %10d %12d %10d %10d %12d%n", "TOTAL", totalMillis, totalPerSec,
+                total.statements(), total.batches(), total.batchedRows());
+        csv.add(String.join(",", String.valueOf(users), "TOTAL", String.valueOf(totalMillis), String.valueOf(totalPerSec),
+                String.valueOf(total.statements()), String.valueOf(total.batches()),
+                String.valueOf(total.batchedRows()), String.valueOf(peakHeapMb), quote(strategy)));
+
+        Path dir = Path.of(System.getProperty("e2e.reportDir", "build/reports/e2e-benchmark"));
+        Files.createDirectories(dir);
+        Path file = dir.resolve("results.csv");
+        if (Files.notExists(file)) {
+            Files.writeString(file, "users,phase,millis,usersPerSec,statements,batches,batchedRows,peakHeapMb,strategy\n");
+        }
+        Files.write(file, csv, StandardOpenOption.APPEND);
+    }
+
+    private static String quote(String s) {
+        return "\"" + s.replace("\"", "\"\"") + "\"";
+    }
+}
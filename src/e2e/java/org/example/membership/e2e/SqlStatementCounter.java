@@ -0,0 +1,96 @@
+package org.example.membership.e2e;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DataSource → Connection → Statement 를 JDK 프록시로 감싸 JDBC 호출 수를 셉니다.
+ * JPA / MyBatis / JdbcTemplate 모두 같은 DataSource 를 거치므로 경로와 무관하게 집계됩니다.
+ *
+ * - statements : execute / executeQuery / executeUpdate 호출 (DB 왕복 1회)
+ * - batches    : executeBatch 호출 (rewriteBatchedStatements 에서는 multi-row INSERT 로 왕복 1회 이상)
+ * - batchedRows: addBatch 로 쌓인 행 수
+ */
+public final class SqlStatementCounter {
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedRows = new LongAdder();
+
+    public DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Connection c && method.getName().equals("getConnection")) {
+                return wrapConnection(c);
+            }
+            return result;
+        });
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(statements.sum(), batches.sum(), batchedRows.sum());
+    }
+
+    public void reset() {
+        statements.reset();
+        batches.reset();
+        batchedRows.reset();
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof CallableStatement cs) return wrapStatement(CallableStatement.class, cs);
+            if (result instanceof PreparedStatement ps) return wrapStatement(PreparedStatement.class, ps);
+            if (result instanceof Statement s) return wrapStatement(Statement.class, s);
+            return result;
+        });
+    }
+
+    private <T extends Statement> T wrapStatement(Class<T> type, T statement) {
+        return proxy(type, statement, (target, method, args) -> {
+            String name = method.getName();
+            if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                batches.increment();
+            } else if (name.startsWith("execute")) {
+                statements.increment();
+            } else if (name.equals("addBatch")) {
+                batchedRows.increment();
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        InvocationHandler h = (p, method, args) -> handler.handle(target, method, args);
+        return (T) Proxy.newProxyInstance(SqlStatementCounter.class.getClassLoader(), new Class<?>[]{type}, h);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    public record Snapshot(long statements, long batches, long batchedRows) {
+        public Snapshot minus(Snapshot other) {
+            return new Snapshot(statements - other.statements, batches - other.batches, batchedRows - other.batchedRows);
+        }
+    }
+}
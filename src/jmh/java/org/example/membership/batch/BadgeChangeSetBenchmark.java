@@ -0,0 +1,70 @@
+package org.example.membership.batch;
+
+import org.example.membership.common.badge.BadgeChangeSet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * badge_results 행 준비 경로.
+ * 예전 BadgeResultCalculator.parseToBadgeResult 의 문자열 split/parse 는 packed long 키로 대체되었으므로,
+ * 현재 경로(청크 slice → userId/categoryId/newState 언패킹)와 이전 문자열 파싱을 함께 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BadgeChangeSetBenchmark {
+
+    private static final int CHUNK_SIZE = 500;
+
+    @Param({"100000"})
+    public int changes;
+
+    private BadgeChangeSet changeSet;
+    private String[] legacyKeys;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(7);
+        changeSet = new BadgeChangeSet(changes);
+        legacyKeys = new String[changes];
+        for (int i = 0; i < changes; i++) {
+            long userId = 1 + i / 8;
+            long categoryId = 1 + i % 8;
+            changeSet.add(userId, categoryId, random.nextBoolean());
+            legacyKeys[i] = userId + ":" + categoryId;
+        }
+    }
+
+    @Benchmark
+    public void sliceAndUnpack(Blackhole bh) {
+        for (int from = 0; from < changeSet.size(); from += CHUNK_SIZE) {
+            BadgeChangeSet chunk = changeSet.slice(from, Math.min(from + CHUNK_SIZE, changeSet.size()));
+            for (int i = 0; i < chunk.size(); i++) {
+                bh.consume(chunk.userId(i));
+                bh.consume(chunk.categoryId(i));
+                bh.consume(chunk.newState(i));
+            }
+        }
+    }
+
+    @Benchmark
+    public void legacyParseStringKeys(Blackhole bh) {
+        for (String key : legacyKeys) {
+            String[] parts = key.split(":");
+            bh.consume(Long.parseLong(parts[0]));
+            bh.consume(Long.parseLong(parts[1]));
+        }
+    }
+
+    @Benchmark
+    public BadgeChangeSet build() {
+        BadgeChangeSet set = new BadgeChangeSet();
+        for (int i = 0; i < changes; i++) {
+            set.add(1 + i / 8, 1 + i % 8, (i & 1) == 0);
+        }
+        return set;
+    }
+}
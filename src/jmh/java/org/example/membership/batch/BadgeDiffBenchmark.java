@@ -0,0 +1,64 @@
+package org.example.membership.batch;
+
+import org.example.membership.common.badge.BadgeChangeSet;
+import org.example.membership.common.badge.BadgeDiffEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 배지 변경분 탐지(JpaBadgeService.detectBadgeUpdateTargets) 의 CPU 부분.
+ * 정렬된 합성 집계/배지 행을 BadgeDiffEngine 으로 merge-join 해 BadgeChangeSet 에 담습니다.
+ * legacyStringKeyMap 은 이전 "userId:categoryId" 문자열 키 Map 방식의 비교 기준입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BadgeDiffBenchmark {
+
+    private static final int CATEGORIES = 8;
+
+    @Param({"10000", "100000"})
+    public int users;
+
+    private List<Object[]> stats;
+    private List<Object[]> badges;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        stats = new ArrayList<>();
+        badges = new ArrayList<>(users * CATEGORIES);
+        for (long userId = 1; userId <= users; userId++) {
+            for (long categoryId = 1; categoryId <= CATEGORIES; categoryId++) {
+                badges.add(new Object[]{userId, categoryId, random.nextBoolean()});
+                if (random.nextInt(3) != 0) {
+                    long count = random.nextInt(10);
+                    BigDecimal amount = BigDecimal.valueOf(random.nextInt(800_000));
+                    stats.add(new Object[]{userId, categoryId, count, amount});
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public BadgeChangeSet mergeJoin() {
+        BadgeChangeSet changes = new BadgeChangeSet();
+        BadgeDiffEngine.diff(stats.iterator(), badges.iterator(), changes::add);
+        return changes;
+    }
+
+    @Benchmark
+    public Map<String, Boolean> legacyStringKeyMap() {
+        Map<String, Boolean> targets = new HashMap<>();
+        BadgeDiffEngine.diff(stats.iterator(), badges.iterator(),
+                (userId, categoryId, newState) -> targets.put(userId + ":" + categoryId, newState));
+        return targets;
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.membership.batch;
+
+import org.example.membership.common.enums.MembershipLevel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LevelResultCalculator.determineNewLevel 을 대량 유저의 활성 배지 수 분포에 대해 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LevelDeterminationBenchmark {
+
+    @Param({"30000", "1000000"})
+    public int users;
+
+    private long[] activeBadgeCounts;
+    private MembershipLevel[] currentLevels;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(11);
+        MembershipLevel[] levels = MembershipLevel.values();
+        activeBadgeCounts = new long[users];
+        currentLevels = new MembershipLevel[users];
+        for (int i = 0; i < users; i++) {
+            activeBadgeCounts[i] = random.nextInt(9);
+            currentLevels[i] = levels[random.nextInt(levels.length)];
+        }
+    }
+
+    @Benchmark
+    public int countChangedLevels() {
+        int changed = 0;
+        for (int i = 0; i < users; i++) {
+            if (LevelResultCalculator.determineNewLevel(activeBadgeCounts[i]) != currentLevels[i]) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    @Benchmark
+    public void determineAll(Blackhole bh) {
+        for (long count : activeBadgeCounts) {
+            bh.consume(LevelResultCalculator.determineNewLevel(count));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.membership.common.concurrent;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FlagManager 게이트 경합: API 스레드 다수가 배치 실행 신호/전역 API 게이트를 조회하는 동안
+ * 소수 스레드가 배치 ON/OFF(CAS) 와 전역 게이트 ON/OFF 를 반복해 같은 AtomicBoolean 캐시 라인을 흔듭니다.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FlagManagerBenchmark {
+
+    private FlagManager flagManager;
+
+    @Setup
+    public void setUp() {
+        flagManager = new FlagManager();
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(6)
+    public boolean isBatchRunning() {
+        return flagManager.isBatchRunning();
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(2)
+    public boolean isGlobalApiGateOn() {
+        return flagManager.isGlobalApiGateOn();
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(1)
+    public void toggleBadgeBatch() {
+        if (!flagManager.turnOnBadgeBatch()) {
+            flagManager.turnOffBadgeBatch();
+        }
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(1)
+    public void toggleGlobalApiGate() {
+        if (flagManager.isGlobalApiGateOn()) {
+            flagManager.turnOffGlobalApiGate();
+        } else {
+            flagManager.turnOnGlobalApiGate();
+        }
+    }
+}
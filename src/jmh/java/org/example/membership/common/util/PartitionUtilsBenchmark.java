@@ -0,0 +1,37 @@
+package org.example.membership.common.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PartitionUtilsBenchmark {
+
+    @Param({"30000", "1000000"})
+    public int size;
+
+    @Param({"6"})
+    public int groups;
+
+    private List<Long> userIds;
+
+    @Setup
+    public void setUp() {
+        userIds = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) userIds.add(i);
+    }
+
+    @Benchmark
+    public List<List<Long>> partition() {
+        return PartitionUtils.partition(userIds, groups);
+    }
+
+    @Benchmark
+    public List<long[]> splitRange() {
+        return PartitionUtils.splitRange(1, size, groups);
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.membership.common.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ShardPrefixedUuidGeneratorBenchmark {
+
+    private int shardNo;
+
+    @Benchmark
+    public String generate() {
+        shardNo = (shardNo + 1) % 100;
+        return ShardPrefixedUuidGenerator.generate(shardNo);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateContended() {
+        shardNo = (shardNo + 1) % 100;
+        return ShardPrefixedUuidGenerator.generate(shardNo);
+    }
+}
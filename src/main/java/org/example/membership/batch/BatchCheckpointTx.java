@@ -0,0 +1,73 @@
+package org.example.membership.batch;
+
+import lombok.RequiredArgsConstructor;
+import org.example.membership.batch.BatchMetrics.Phase;
+import org.example.membership.config.MyWasInstanceHolder;
+import org.example.membership.entity.batch.BatchCheckpoint;
+import org.example.membership.exception.BatchFencedException;
+import org.example.membership.repository.jpa.batch.BatchCheckpointRepository;
+import org.example.membership.repository.jpa.batch.BatchExecutionLogRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 배치 체크포인트 전용 트랜잭션 빈.
+ * 페이지 커밋 직후 호출되며, 호출자가 읽기 전용 트랜잭션 안에 있어도 항상 별도 트랜잭션으로 커밋합니다.
+ * 커서는 "이 값까지는 커밋됨" 을 뜻하므로 페이지 커밋과 커서 저장 사이에 죽으면 최대 1페이지만 다시 처리합니다.
+ * 저장 전에 같은 트랜잭션에서 실행 소유권을 잠금 조회하므로, 인수된 뒤의 옛 리더는 체크포인트를 쓰지 못하고 중단됩니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class BatchCheckpointTx {
+
+    private final BatchCheckpointRepository repo;
+    private final BatchExecutionLogRepository logRepo;
+    private final MyWasInstanceHolder myWasInstanceHolder;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public Optional<BatchCheckpoint> find(UUID executionId, Phase phase) {
+        return repo.findByExecutionIdAndPhase(executionId, phase.name());
+    }
+
+    public boolean isCompleted(UUID executionId, Phase phase) {
+        return find(executionId, phase).map(BatchCheckpoint::isCompleted).orElse(false);
+    }
+
+    // 마지막 커밋 결과 id (없으면 null → 처음부터)
+    public UUID resultCursor(UUID executionId, Phase phase) {
+        return find(executionId, phase).map(BatchCheckpoint::getAfterResultId).orElse(null);
+    }
+
+    // 마지막 커밋 유저 id (없으면 0 → 처음부터)
+    public long userCursor(UUID executionId, Phase phase) {
+        return find(executionId, phase).map(BatchCheckpoint::getAfterUserId).orElse(0L);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void saveResultCursor(UUID executionId, Phase phase, UUID afterResultId) {
+        fence(executionId);
+        repo.upsertCursor(executionId, phase.name(), afterResultId, null);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void saveUserCursor(UUID executionId, Phase phase, long afterUserId) {
+        fence(executionId);
+        repo.upsertCursor(executionId, phase.name(), null, afterUserId);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void markCompleted(UUID executionId, Phase phase) {
+        fence(executionId);
+        repo.upsertCompleted(executionId, phase.name());
+    }
+
+    private void fence(UUID executionId) {
+        if (logRepo.countOwnedRunning(executionId, myWasInstanceHolder.getMyUuid()) == 0) {
+            throw new BatchFencedException(executionId);
+        }
+    }
+}
@@ -2,11 +2,15 @@ package org.example.membership.batch;
 
 import lombok.RequiredArgsConstructor;
 import org.example.membership.entity.batch.BatchExecutionLog;
+import org.example.membership.entity.batch.ChunkExecutionLog;
+import org.example.membership.exception.BatchFencedException;
 import org.example.membership.repository.jpa.batch.BatchExecutionLogRepository;
+import org.example.membership.repository.jpa.batch.ChunkExecutionLogRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 //  배치 실행 로그 전용 트랜잭션 빈
@@ -14,21 +18,70 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class BatchExecutionLogTx {
     private final BatchExecutionLogRepository repo;
+    private final ChunkExecutionLogRepository chunkRepo;
 
     @Transactional // REQUIRED (기본): Orchestrator가 무트랜잭션이면 새로 열림
-    public boolean lockStart(UUID execId, String key, LocalDateTime cutoffAt) {
-        return repo.insertIfNotRunning(execId, key, cutoffAt) > 0;
+    public boolean lockStart(UUID execId, String key, LocalDateTime cutoffAt, LocalDateTime t0, UUID wasId) {
+        return repo.insertIfNotRunning(execId, key, cutoffAt, t0, wasId) > 0;
     }
 
+    // 실행 WAS 가 죽은 RUNNING 실행 중 가장 오래된 것을 인수 (없거나 다른 WAS 가 먼저 인수하면 empty)
     @Transactional
-    public void markCompleted(UUID execId) {
+    public Optional<BatchExecutionLog> takeOverOrphaned(UUID wasId, LocalDateTime heartbeatThreshold) {
+        for (BatchExecutionLog orphan : repo.findOrphanedRunning(heartbeatThreshold)) {
+            if (repo.takeOverIfOrphaned(orphan.getExecutionId(), wasId, heartbeatThreshold) > 0) {
+                return Optional.of(orphan);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // 펜싱: 다른 WAS 가 이 실행을 인수했으면 BatchFencedException (단계 시작 전마다 호출)
+    @Transactional
+    public void assertOwner(UUID execId, UUID wasId) {
+        if (repo.countOwnedRunning(execId, wasId) == 0) {
+            throw new BatchFencedException(execId);
+        }
+    }
+
+    @Transactional
+    public void markCompleted(UUID execId, UUID wasId) {
+        assertOwner(execId, wasId);
         repo.findByExecutionId(execId).ifPresent(BatchExecutionLog::markCompleted);
         // 변경감지로 update flush
     }
 
+    // 소유권을 잃은 실행은 새 소유 WAS 가 이어서 돌리고 있으므로 상태를 건드리지 않음
     @Transactional
-    public void markFailed(UUID execId) {
+    public void markFailed(UUID execId, UUID wasId) {
+        if (repo.countOwnedRunning(execId, wasId) == 0) return;
         repo.findByExecutionId(execId).ifPresent(BatchExecutionLog::markFailed);
     }
+
+    // 파티션(유저 id 구간) 진행 기록 시작: completed=false 로 선기록 후 id 반환
+    @Transactional
+    public Long startChunk(UUID execId, ChunkExecutionLog.StepType stepType, UUID wasId,
+                           long userIdStart, long userIdEnd) {
+        BatchExecutionLog batch = repo.findByExecutionId(execId)
+                .orElseThrow(() -> new IllegalStateException("BatchExecutionLog not found: " + execId));
+        ChunkExecutionLog chunk = ChunkExecutionLog.builder()
+                .stepType(stepType)
+                .batchExecutionLog(batch)
+                .wasId(wasId)
+                .recordedAt(LocalDateTime.now())
+                .userIdStart(userIdStart)
+                .userIdEnd(userIdEnd)
+                .completed(false)
+                .build();
+        return chunkRepo.save(chunk).getId();
+    }
+
+    @Transactional
+    public void markChunkCompleted(Long chunkId) {
+        chunkRepo.findById(chunkId).ifPresent(c -> {
+            c.setCompleted(true);
+            c.setRecordedAt(LocalDateTime.now());
+        });
+    }
 }
 
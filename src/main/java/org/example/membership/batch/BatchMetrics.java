@@ -0,0 +1,107 @@
+package org.example.membership.batch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.example.membership.config.MyWasInstanceHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 스냅샷 배치 Micrometer 계측 (/actuator/prometheus 로 노출)
+ *
+ * - batch.snapshot.phase       : 단계별 소요 시간 (Timer)
+ * - batch.snapshot.rows        : 단계별 처리 행 수 (Counter)
+ * - batch.snapshot.apply.pages : BatchResultApplier 가 읽은 PENDING 결과 페이지 수 (Counter)
+ * - batch.snapshot.chunk       : 청크 1개 처리 지연 (Timer, 히스토그램)
+ *
+ * 모든 지표는 executionId, was(WAS 인스턴스 UUID) 태그를 가집니다.
+ * executionId 는 월 1회 실행 기준이라 카디널리티가 낮습니다.
+ * 파이프라인 모드에서는 파티션별 단계 시간이 같은 Timer 에 누적되므로 sum 은 벽시계 시간보다 클 수 있습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class BatchMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final MyWasInstanceHolder myWasInstanceHolder;
+
+    public enum Phase {
+        PRODUCE_BADGES("produce_badges"),
+        APPLY_BADGES("apply_badges"),
+        PRODUCE_LEVELS("produce_levels"),
+        APPLY_LEVELS("apply_levels"),
+        COUPONS("coupons");
+
+        private final String tag;
+
+        Phase(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    public void timePhase(UUID executionId, Phase phase, Runnable body) {
+        phaseTimer(executionId, phase).record(body);
+    }
+
+    public <T> T timePhase(UUID executionId, Phase phase, Supplier<T> body) {
+        return phaseTimer(executionId, phase).record(body);
+    }
+
+    public void recordRows(UUID executionId, Phase phase, long rows) {
+        if (rows <= 0) return;
+        Counter.builder("batch.snapshot.rows")
+                .description("스냅샷 배치 단계별 처리 행 수")
+                .tags(tags(executionId, phase))
+                .register(meterRegistry)
+                .increment(rows);
+    }
+
+    public void recordPage(UUID executionId, Phase phase) {
+        Counter.builder("batch.snapshot.apply.pages")
+                .description("적용 단계에서 읽은 PENDING 결과 페이지 수")
+                .tags(tags(executionId, phase))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void timeChunk(UUID executionId, Phase phase, Runnable body) {
+        long start = System.nanoTime();
+        try {
+            body.run();
+        } finally {
+            chunkTimer(executionId, phase).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer phaseTimer(UUID executionId, Phase phase) {
+        return Timer.builder("batch.snapshot.phase")
+                .description("스냅샷 배치 단계별 소요 시간")
+                .tags(tags(executionId, phase))
+                .register(meterRegistry);
+    }
+
+    private Timer chunkTimer(UUID executionId, Phase phase) {
+        return Timer.builder("batch.snapshot.chunk")
+                .description("스냅샷 배치 청크 처리 지연")
+                .tags(tags(executionId, phase))
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofMinutes(1))
+                .register(meterRegistry);
+    }
+
+    private Tags tags(UUID executionId, Phase phase) {
+        UUID was = myWasInstanceHolder.getMyUuid();
+        return Tags.of(
+                "executionId", String.valueOf(executionId),
+                "was", was == null ? "unknown" : was.toString(),
+                "phase", phase.tag);
+    }
+}
@@ -3,19 +3,29 @@ package org.example.membership.batch;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.membership.batch.BatchMetrics.Phase;
+import org.example.membership.common.concurrent.StripedUserGate;
 import org.example.membership.common.enums.BatchResultStatus;
+import org.example.membership.common.util.PartitionUtils;
+import org.example.membership.config.MyWasInstanceHolder;
 import org.example.membership.entity.Badge;
 import org.example.membership.entity.User;
 import org.example.membership.entity.batch.BadgeResult;
+import org.example.membership.entity.batch.ChunkExecutionLog;
 import org.example.membership.entity.batch.LevelResult;
 import org.example.membership.repository.jpa.BadgeRepository;
 import org.example.membership.repository.jpa.UserRepository;
 import org.example.membership.repository.jpa.batch.BadgeResultRepository;
 import org.example.membership.repository.jpa.batch.LevelResultRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 
 @Component
@@ -28,31 +38,163 @@ public class BatchResultApplier {
     private final BadgeResultRepository badgeResultRepository;
     private final LevelResultRepository levelResultRepository;
     private final TransactionalChunkProcessor chunkProcessor;
+    private final BatchExecutionLogTx logTx;
+    private final BatchCheckpointTx checkpointTx;
+    private final MyWasInstanceHolder myWasInstanceHolder;
+    private final BatchMetrics batchMetrics;
+    private final StripedUserGate userGate;
+    @Qualifier("batchExecutorService")
+    private final ExecutorService batchExecutorService;
 
+    // 실패한 파티션만 다시 시도하는 최대 횟수 (첫 시도 포함)
+    @Value("${batch.snapshot.partition-max-attempts:3}")
+    private int partitionMaxAttempts;
+
+    // true: Phase 4 를 조인 UPDATE + INSERT ... SELECT 로 적용 (엔티티 더티체크 미사용)
+    @Value("${batch.snapshot.set-based-level-apply:false}")
+    private boolean setBasedLevelApply;
+
+    // 재개 시 체크포인트의 마지막 커밋 id 다음 페이지부터 이어서 적용
     public void applyBadgeResultsPaged(UUID executionId, LocalDateTime t0, int pageSize) {
 
-        UUID afterId = null;
+        UUID afterId = checkpointTx.resultCursor(executionId, Phase.APPLY_BADGES);
         while (true) {
             List<BadgeResult> page = badgeResultRepository.findPendingAfterId(executionId, afterId, pageSize);
             if (page.isEmpty()) break;
 
-            List<UUID> ids = page.stream().map(BadgeResult::getId).toList();
-            chunkProcessor.applyBadgeChunkBulk(ids);
+            applyBadgeChunk(executionId, page, t0);
 
             afterId = page.get(page.size() - 1).getId();
+            checkpointTx.saveResultCursor(executionId, Phase.APPLY_BADGES, afterId);
         }
     }
 
-    public void applyLevelResultsPaged(UUID executionId,LocalDateTime t,  int pageSize) {
+    /**
+     * [파티션 모드] PENDING 배지 결과를 유저 id 구간으로 나눠 batchExecutorService 에서 동시에 적용합니다.
+     * 구간이 서로 겹치지 않으므로 badges 행 잠금도 겹치지 않습니다.
+     * 파티션마다 ChunkExecutionLog(BADGE) 를 남기고, 실패한 파티션만 재시도합니다.
+     * 재시도는 PENDING 행만 다시 읽으므로 이미 커밋된 페이지는 건너뜁니다.
+     */
+    public void applyBadgeResultsPartitioned(UUID executionId, LocalDateTime t0, int partitions, int pageSize) {
+        List<Object[]> bounds = badgeResultRepository.findPendingUserIdBounds(executionId);
+        if (bounds.isEmpty() || bounds.get(0)[0] == null) {
+            log.info("[배지 파티션 적용 스킵] PENDING 결과 없음. executionId={}", executionId);
+            return;
+        }
+        long minUserId = ((Number) bounds.get(0)[0]).longValue();
+        long maxUserId = ((Number) bounds.get(0)[1]).longValue();
+
+        // 파티션 진행 기록 선등록 (chunkId -> [start, end])
+        Map<Long, long[]> pending = new LinkedHashMap<>();
+        for (long[] range : PartitionUtils.splitRange(minUserId, maxUserId, partitions)) {
+            Long chunkId = logTx.startChunk(executionId, ChunkExecutionLog.StepType.BADGE,
+                    myWasInstanceHolder.getMyUuid(), range[0], range[1]);
+            pending.put(chunkId, range);
+        }
+        log.info("[배지 파티션 적용 시작] users=[{}, {}], partitions={}", minUserId, maxUserId, pending.size());
+
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            Map<Long, Future<Long>> futures = new LinkedHashMap<>();
+            pending.forEach((chunkId, range) -> futures.put(chunkId,
+                    batchExecutorService.submit(() -> applyBadgeResultsInUserRange(executionId, range[0], range[1], t0, pageSize))));
+
+            Map<Long, long[]> failed = new LinkedHashMap<>();
+            Exception lastError = null;
+            for (Map.Entry<Long, Future<Long>> e : futures.entrySet()) {
+                long[] range = pending.get(e.getKey());
+                try {
+                    long applied = e.getValue().get();
+                    logTx.markChunkCompleted(e.getKey());
+                    log.info("[배지 파티션 완료] users=[{}, {}], applied={}, attempt={}", range[0], range[1], applied, attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("배지 파티션 적용 중 인터럽트", ie);
+                } catch (ExecutionException ee) {
+                    lastError = ee;
+                    failed.put(e.getKey(), range);
+                    log.warn("[배지 파티션 실패] users=[{}, {}], attempt={}", range[0], range[1], attempt, ee.getCause());
+                }
+            }
+
+            if (!failed.isEmpty() && attempt >= partitionMaxAttempts) {
+                throw new IllegalStateException("배지 파티션 적용 실패: " + failed.size() + "개 파티션", lastError);
+            }
+            pending = failed;
+        }
+        log.info("[배지 파티션 적용 완료] executionId={}", executionId);
+    }
+
+    // 한 파티션: 유저 구간 안에서 id 키셋 페이지 → 페이지마다 REQUIRES_NEW 로 커밋
+    public long applyBadgeResultsInUserRange(UUID executionId, long startUserId, long endUserId,
+                                             LocalDateTime t0, int pageSize) {
+        long applied = 0;
+        UUID afterId = null;
+        while (true) {
+            List<BadgeResult> page = badgeResultRepository.findPendingInUserRangeAfterId(
+                    executionId, startUserId, endUserId, afterId, pageSize);
+            if (page.isEmpty()) break;
+
+            applyBadgeChunk(executionId, page, t0);
+            applied += page.size();
+
+            afterId = page.get(page.size() - 1).getId();
+        }
+        return applied;
+    }
+
+    // 레벨 결과도 유저 구간 단위로 적용 (파이프라인 모드: 같은 구간의 배지 적용 이후에만 호출)
+    public long applyLevelResultsInUserRange(UUID executionId, long startUserId, long endUserId,
+                                             LocalDateTime t0, int pageSize) {
+        long applied = 0;
         UUID afterId = null;
+        while (true) {
+            List<LevelResult> page = levelResultRepository.findPendingInUserRangeAfterId(
+                    executionId, startUserId, endUserId, afterId, pageSize);
+            if (page.isEmpty()) break;
+
+            List<UUID> ids = page.stream().map(LevelResult::getId).toList();
+            applyLevelChunk(executionId, ids, t0);
+            applied += ids.size();
+
+            afterId = page.get(page.size() - 1).getId();
+        }
+        return applied;
+    }
+
+    public void applyLevelResultsPaged(UUID executionId,LocalDateTime t,  int pageSize) {
+        UUID afterId = checkpointTx.resultCursor(executionId, Phase.APPLY_LEVELS);
         while (true) {
             List<LevelResult> page = levelResultRepository.findPendingAfterId(executionId, afterId, pageSize);
             if (page.isEmpty()) break;
 
             List<UUID> ids = page.stream().map(LevelResult::getId).toList();
-            chunkProcessor.applyLevelChunkManaged(ids,t);
+            applyLevelChunk(executionId, ids, t);
 
             afterId = page.get(page.size() - 1).getId();
+            checkpointTx.saveResultCursor(executionId, Phase.APPLY_LEVELS, afterId);
         }
     }
-}
\ No newline at end of file
+
+    // 페이지 1개 = 청크 1개: 지연/행 수/페이지 수 계측
+    // 커밋은 유저 게이트 스트라이프 소그룹마다 REQUIRES_NEW 로 → 같은 스트라이프의 API 수동 변경과만 소그룹 단위로 직렬화
+    // (t0 이후 변경된 배지는 UPDATE 의 updated_at < t0 조건이 행 단위로 건너뜀)
+    private void applyBadgeChunk(UUID executionId, List<BadgeResult> page, LocalDateTime t0) {
+        batchMetrics.recordPage(executionId, Phase.APPLY_BADGES);
+        batchMetrics.timeChunk(executionId, Phase.APPLY_BADGES,
+                () -> userGate.applyByStripeGroup(page, BadgeResult::getUserId,
+                        group -> chunkProcessor.applyBadgeChunkBulk(group.stream().map(BadgeResult::getId).toList(), t0)));
+        batchMetrics.recordRows(executionId, Phase.APPLY_BADGES, ids.size());
+    }
+
+    private void applyLevelChunk(UUID executionId, List<UUID> ids, LocalDateTime t0) {
+        batchMetrics.recordPage(executionId, Phase.APPLY_LEVELS);
+        batchMetrics.timeChunk(executionId, Phase.APPLY_LEVELS, () -> {
+            if (setBasedLevelApply) {
+                chunkProcessor.applyLevelChunkBulk(ids, t0);
+            } else {
+                chunkProcessor.applyLevelChunkManaged(ids, t0);
+            }
+        });
+        batchMetrics.recordRows(executionId, Phase.APPLY_LEVELS, ids.size());
+    }
+}
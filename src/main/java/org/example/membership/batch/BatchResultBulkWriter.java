@@ -0,0 +1,95 @@
+package org.example.membership.batch;
+
+import com.github.f4b6a3.uuid.UuidCreator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.membership.common.badge.BadgeChangeSet;
+import org.example.membership.common.enums.BatchResultStatus;
+import org.example.membership.common.enums.MembershipLevel;
+import org.example.membership.common.util.UuidBytes;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * badge_results / level_results 전용 JDBC 배치 INSERT writer.
+ *
+ * - 영속성 컨텍스트를 거치지 않고 PreparedStatement 배치로 바로 INSERT (rewriteBatchedStatements=true 에서 multi-row INSERT 로 재작성)
+ * - id 는 시간순 UUID(UuidCreator.getTimeOrdered) 를 BINARY(16) 빅엔디언으로 저장 → 클러스터드 인덱스 끝에만 append, 페이지 분할 없음
+ * - 호출자의 트랜잭션(ChunkWriter REQUIRES_NEW)에 그대로 참여
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BatchResultBulkWriter {
+
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private static final String INSERT_BADGE_RESULT = """
+            INSERT INTO badge_results (id, execution_id, user_id, category_id, new_state, status)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_LEVEL_RESULT = """
+            INSERT INTO level_results (id, execution_id, user_id, new_level, status)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int insertBadgeResults(UUID executionId, BadgeChangeSet changes, int batchSize) {
+        if (changes == null || changes.isEmpty()) return 0;
+
+        byte[] exec = UuidBytes.toBytes(executionId);
+        int step = effective(batchSize);
+        for (int from = 0; from < changes.size(); from += step) {
+            int offset = from;
+            int count = Math.min(step, changes.size() - from);
+            jdbcTemplate.batchUpdate(INSERT_BADGE_RESULT, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    int idx = offset + i;
+                    ps.setBytes(1, UuidBytes.toBytes(UuidCreator.getTimeOrdered()));
+                    ps.setBytes(2, exec);
+                    ps.setLong(3, changes.userId(idx));
+                    ps.setLong(4, changes.categoryId(idx));
+                    ps.setBoolean(5, changes.newState(idx));
+                    ps.setString(6, BatchResultStatus.PENDING.name());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return count;
+                }
+            });
+        }
+        return changes.size();
+    }
+
+    public int insertLevelResults(UUID executionId, List<LevelChange> rows, int batchSize) {
+        if (rows == null || rows.isEmpty()) return 0;
+
+        byte[] exec = UuidBytes.toBytes(executionId);
+        jdbcTemplate.batchUpdate(INSERT_LEVEL_RESULT, rows, effective(batchSize), (ps, row) -> {
+            ps.setBytes(1, UuidBytes.toBytes(UuidCreator.getTimeOrdered()));
+            ps.setBytes(2, exec);
+            ps.setLong(3, row.userId());
+            ps.setString(4, row.newLevel().name());
+            ps.setString(5, BatchResultStatus.PENDING.name());
+        });
+        return rows.size();
+    }
+
+    private static int effective(int batchSize) {
+        return batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+    }
+
+    // level_results 한 행 (userId → 새 등급)
+    public record LevelChange(long userId, MembershipLevel newLevel) {
+    }
+}
@@ -4,17 +4,11 @@ package org.example.membership.batch;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.membership.common.concurrent.FlagManager;
-import org.example.membership.config.MyWasInstanceHolder;
-import org.example.membership.entity.WasInstance;
 import org.example.membership.infra.cluster.ScaleOutNotifier;
-import org.example.membership.repository.jpa.WasInstanceRepository;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.util.Comparator;
-import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -24,44 +18,57 @@ public class BatchScheduler {
     private final SnapshotBatchOrchestrator orchestrator;
     private final FlagManager flagManager;
     private final ScaleOutNotifier scaleOutNotifier;
-    private final WasInstanceRepository wasInstanceRepository;
-    private final MyWasInstanceHolder myWasInstanceHolder;
+
+    private static final int BATCH_SIZE = 500;
 
     @Scheduled(cron = "0 0 0 1 * *") // 매월 1일 00:00
     public void runBadgeBatch() {
         // 1) 모든 WAS: 로컬 배지 플래그 ON
-        flagManager.addBadgeFlag(-1L, -1L);
+        flagManager.turnOnBadgeBatch();
 
         LocalDate targetDate = LocalDate.now();
-        int batchSize = 500;
 
         boolean leaderExecuted = false;
         try {
             // 2) 오케스트레이터 실행(선점 실패 시 false)
-            leaderExecuted = orchestrator.runFullBatch(targetDate, batchSize);
+            leaderExecuted = orchestrator.runFullBatch(targetDate, BATCH_SIZE);
         } catch (Exception e) {
             log.error("[배지 배치] 스케줄러 예외", e);
             // 선점 성공 후 실패했을 수 있으므로 플래그 해제 브로드캐스트를 시도해야 합니다.
             leaderExecuted = true;
         } finally {
             if (leaderExecuted) {
-                try {
-                    // 3) 살아있는 '다른' 인스턴스 조회(자기 자신 제외)
-                    LocalDateTime threshold = LocalDateTime.now().minusSeconds(30);
-                    List<WasInstance> others = wasInstanceRepository.findAliveInstances(threshold).stream()
-                            .sorted(Comparator.comparing(WasInstance::getRegisteredAt))
-                            .filter(w -> !w.getId().equals(myWasInstanceHolder.getMyUuid()))
-                            .toList();
+                releaseBadgeFlags();
+            }
+        }
+    }
 
-                    // 4) 배지 플래그 해제 알림
-                    scaleOutNotifier.notifyBadgeFlagOffToOthers(others);
-                } catch (Exception e) {
-                    log.error("[배지 배치] 플래그 해제 실패", e);
-                } finally {
-                    // 5) 내 로컬도 OFF
-                    flagManager.removeBadgeFlag(-1L, -1L);
-                }
+    // 리더가 실행 중 죽어 RUNNING 으로 남은 실행을 인수해 체크포인트부터 재개 (리더 대신 플래그 해제까지 담당)
+    @Scheduled(fixedDelayString = "${batch.snapshot.orphan-check-millis:60000}",
+            initialDelayString = "${batch.snapshot.orphan-check-millis:60000}")
+    public void resumeOrphanedBatch() {
+        boolean resumed = false;
+        try {
+            resumed = orchestrator.resumeOrphaned(BATCH_SIZE);
+        } catch (Exception e) {
+            log.error("[배지 배치] 고아 실행 재개 실패", e);
+            resumed = true;
+        } finally {
+            if (resumed) {
+                releaseBadgeFlags();
             }
         }
     }
+
+    private void releaseBadgeFlags() {
+        try {
+            // 3) 살아있는 '다른' 인스턴스에 배지 플래그 해제 알림 (하트비트로 갱신되는 로컬 멤버십 뷰 기준)
+            scaleOutNotifier.notifyBadgeFlagOffToOthers();
+        } catch (Exception e) {
+            log.error("[배지 배치] 플래그 해제 실패", e);
+        } finally {
+            // 4) 내 로컬도 OFF
+            flagManager.turnOffBadgeBatch();
+        }
+    }
 }
@@ -0,0 +1,85 @@
+package org.example.membership.batch;
+
+import lombok.RequiredArgsConstructor;
+import org.example.membership.entity.batch.BatchWorkUnit;
+import org.example.membership.exception.BatchFencedException;
+import org.example.membership.repository.jpa.batch.BatchWorkUnitRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+// [분산 모드] 작업 큐(batch_work_unit) 전용 트랜잭션 빈: 호출마다 짧은 트랜잭션으로 커밋 (행 잠금을 오래 쥐지 않음)
+@Service
+@RequiredArgsConstructor
+public class BatchWorkQueueTx {
+
+    private final BatchWorkUnitRepository repo;
+
+    @Transactional
+    public int publish(UUID executionId, LocalDate targetDate, LocalDateTime cutoffAt, LocalDateTime t0,
+                       int batchSize, List<long[]> ranges) {
+        List<BatchWorkUnit> units = ranges.stream()
+                .map(r -> BatchWorkUnit.builder()
+                        .executionId(executionId)
+                        .targetDate(targetDate)
+                        .cutoffAt(cutoffAt)
+                        .batchStartAt(t0)
+                        .batchSize(batchSize)
+                        .userIdStart(r[0])
+                        .userIdEnd(r[1])
+                        .build())
+                .toList();
+        repo.saveAll(units);
+        return units.size();
+    }
+
+    // SKIP LOCKED 로 1건 잠그고 CLAIMED 로 바꿔 커밋 (변경감지로 update flush)
+    @Transactional
+    public Optional<BatchWorkUnit> claimNext(UUID wasId) {
+        List<BatchWorkUnit> locked = repo.lockNextPending();
+        if (locked.isEmpty()) return Optional.empty();
+        BatchWorkUnit unit = locked.get(0);
+        unit.claim(wasId);
+        return Optional.of(unit);
+    }
+
+    // 펜싱: 고아로 회수돼 다른 WAS 가 다시 가져간 단위면 BatchFencedException (워커의 쓰기 청크 트랜잭션 안에서 호출)
+    @Transactional
+    public void assertClaimed(BatchWorkUnit unit, UUID wasId) {
+        if (repo.countClaimedBy(unit.getId(), wasId) == 0) {
+            throw new BatchFencedException(unit.getExecutionId());
+        }
+    }
+
+    @Transactional
+    public boolean complete(long unitId, UUID wasId) {
+        return repo.markDone(unitId, wasId, LocalDateTime.now()) > 0;
+    }
+
+    @Transactional
+    public void fail(long unitId, UUID wasId, int maxAttempts) {
+        repo.markFailed(unitId, wasId, maxAttempts);
+    }
+
+    @Transactional
+    public int requeueOrphaned(UUID executionId, UUID selfWasId, LocalDateTime heartbeatThreshold) {
+        return repo.requeueOrphaned(executionId, selfWasId, heartbeatThreshold);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<BatchWorkUnit.Status, Long> countByStatus(UUID executionId) {
+        Map<BatchWorkUnit.Status, Long> counts = new EnumMap<>(BatchWorkUnit.Status.class);
+        for (BatchWorkUnit.Status s : BatchWorkUnit.Status.values()) counts.put(s, 0L);
+        for (Object[] r : repo.countByStatus(executionId)) {
+            counts.put((BatchWorkUnit.Status) r[0], (Long) r[1]);
+        }
+        return counts;
+    }
+}
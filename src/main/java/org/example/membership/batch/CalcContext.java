@@ -1,34 +1,43 @@
 package org.example.membership.batch;
 
+import org.example.membership.common.badge.BadgeChangeSet;
 import org.example.membership.entity.User;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 public record CalcContext(
         List<User> myUsers,
-        Map<String, Boolean> keysToUpdate,
+        BadgeChangeSet badgeChanges,
         int batchSize,
         boolean empty,
-        LocalDateTime batchStartTime
+        LocalDateTime batchStartTime,
+        boolean streaming
 
 ) {
     /**
      * 정상적인 계산 컨텍스트 생성
      */
     public static CalcContext of(List<User> users,
-                                 Map<String, Boolean> keys,
+                                 BadgeChangeSet badgeChanges,
                                  int batchSize,
                                  LocalDateTime batchStartTime) {
-        return new CalcContext(users, keys, batchSize, false, batchStartTime);
+        return new CalcContext(users, badgeChanges, batchSize, false, batchStartTime, false);
+    }
+
+    /**
+     * 스트리밍 컨텍스트 생성
+     * 유저/배지 변경분을 메모리에 들고 있지 않고, 각 Phase가 유저 id 키셋 페이지로 직접 읽습니다.
+     */
+    public static CalcContext streaming(int batchSize, LocalDateTime batchStartTime) {
+        return new CalcContext(Collections.emptyList(), BadgeChangeSet.empty(), batchSize, false, batchStartTime, true);
     }
 
     /**
      * 빈 컨텍스트 생성 (복원 대상 없음, 계산할 사용자 없음 등)
      */
     public static CalcContext createEmpty(LocalDateTime batchStartTime) {
-        return new CalcContext(Collections.emptyList(), Collections.emptyMap(), 0, true, batchStartTime);
+        return new CalcContext(Collections.emptyList(), BadgeChangeSet.empty(), 0, true, batchStartTime, false);
     }
 }
@@ -3,7 +3,10 @@ package org.example.membership.batch;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.membership.common.badge.BadgeChangeSet;
 import org.example.membership.entity.User;
+import org.example.membership.repository.jpa.batch.BadgeResultRepository;
+import org.example.membership.repository.jpa.batch.LevelResultRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
@@ -11,7 +14,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -19,18 +21,37 @@ import java.util.UUID;
 @Slf4j
 public class ChunkWriter {
 
+    // 쓰기 메서드의 fence: 같은 REQUIRES_NEW 트랜잭션 안에서 쓰기 전에 호출하는 소유권 확인 (FOR SHARE)
+    // → 커밋 전까지 다른 WAS 의 인수/회수 UPDATE 가 대기하고, 인수된 뒤에는 BatchFencedException 으로 아무것도 쓰지 않음
+
     private final BadgeResultCalculator badgeResultCalculator;
     private final LevelResultCalculator levelResultCalculator;
     private final BatchResultApplier batchResultApplier;
     private final CouponBatchExecutor couponBatchExecutor;
+    private final BadgeResultRepository badgeResultRepository;
+    private final LevelResultRepository levelResultRepository;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int deleteBadgeResults(UUID executionId, Runnable fence) {
+        fence.run();
+        return badgeResultRepository.deleteByExecution(executionId);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int deleteLevelResults(UUID executionId, Runnable fence) {
+        fence.run();
+        return levelResultRepository.deleteByExecution(executionId);
+    }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void writeBadgeChunk(UUID executionId, Map<String, Boolean> subKeys, int batchSize) {
-        badgeResultCalculator.calculateAndStoreResults(executionId, subKeys, batchSize);
+    public void writeBadgeChunk(UUID executionId, BadgeChangeSet changes, int batchSize, Runnable fence) {
+        fence.run();
+        badgeResultCalculator.calculateAndStoreResults(executionId, changes, batchSize);
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void writeLevelChunk(UUID executionId, List<User> users, int batchSize) {
+    public void writeLevelChunk(UUID executionId, List<User> users, int batchSize, Runnable fence) {
+        fence.run();
         levelResultCalculator.calculateAndStoreResults(executionId, users, batchSize);
     }
 
@@ -40,14 +61,26 @@ public class ChunkWriter {
         batchResultApplier.applyBadgeResultsPaged(executionId, batchStartTime, pageSize);
     }
 
+    // 트랜잭션 없음: 파티션 워커가 각자 페이지마다 REQUIRES_NEW 로 커밋 (외부 트랜잭션이 커넥션을 붙잡지 않도록)
+    public void applyBadgeResultsPartitioned(UUID executionId, LocalDateTime batchStartTime, int partitions, int pageSize) {
+        batchResultApplier.applyBadgeResultsPartitioned(executionId, batchStartTime, partitions, pageSize);
+    }
+
     @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true, isolation = Isolation.READ_COMMITTED)
     public void applyLevelResultsPaged(UUID executionId, LocalDateTime batchStartTime, int pageSize) {
         batchResultApplier.applyLevelResultsPaged(executionId, batchStartTime, pageSize);
     }
 
+    // 쿠폰은 파티션마다 bulkIssueCoupons 자체 트랜잭션에서 fence 후 발급
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void applyCoupon(UUID executionId, CalcContext ctx) {
+    public void applyCoupon(UUID executionId, CalcContext ctx, Runnable fence) {
         if (ctx.empty()) return;
-        couponBatchExecutor.execute(ctx.myUsers(), ctx.batchSize(), executionId);
+        couponBatchExecutor.execute(ctx.myUsers(), ctx.batchSize(), executionId, fence);
+    }
+
+    // 스트리밍 모드: 유저 페이지 단위로 쿠폰 발급
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void applyCoupon(UUID executionId, List<User> users, int batchSize, Runnable fence) {
+        couponBatchExecutor.execute(users, batchSize, executionId, fence);
     }
 }
@@ -3,6 +3,7 @@ package org.example.membership.batch;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.membership.common.util.PartitionUtils;
+import org.example.membership.config.BatchConcurrency;
 import org.example.membership.entity.User;
 import org.example.membership.service.jpa.JpaCouponService;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -22,11 +23,13 @@ import java.util.concurrent.Future;
 public class CouponBatchExecutor {
 
     private final JpaCouponService jpaCouponService;
+    private final BatchConcurrency batchConcurrency;
 
     @Qualifier("batchExecutorService")
     private final ExecutorService executorService;
 
-    public void execute(List<User> users, int batchSize, UUID executionId) {
+    // fence: 파티션 트랜잭션마다 발급 전에 호출 (ChunkWriter 참고)
+    public void execute(List<User> users, int batchSize, UUID executionId, Runnable fence) {
         if (users == null || users.isEmpty()) {
             log.warn("[쿠폰 발급 스킵] 처리 대상 없음.");
             return;
@@ -36,7 +39,8 @@ public class CouponBatchExecutor {
         Instant totalStart = Instant.now();
 
 
-        List<List<User>> partitions = PartitionUtils.partition(users, 6);
+        // 파티션 수 = 배치 동시 실행 한도 (고정 풀 크기 또는 Hikari 기반 세마포어 크기)
+        List<List<User>> partitions = PartitionUtils.partition(users, batchConcurrency.parallelism());
         List<Future<?>> futures = new ArrayList<>();
 
         log.info("[쿠폰 발급 분할 처리 시작] 파티션 수: {}", partitions.size());
@@ -48,7 +52,7 @@ public class CouponBatchExecutor {
             futures.add(executorService.submit(() -> {
                 Instant partitionStart = Instant.now();
                 try {
-                    jpaCouponService.bulkIssueCoupons(part, batchSize);
+                    jpaCouponService.bulkIssueCoupons(part, batchSize, fence);
 
                     long duration = Duration.between(partitionStart, Instant.now()).toMillis();
                     log.info("[쿠폰 발급 파티션 완료] #{} | 처리 수: {} | 소요 시간: {}ms",
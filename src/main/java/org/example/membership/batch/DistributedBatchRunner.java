@@ -0,0 +1,111 @@
+package org.example.membership.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.membership.common.util.PartitionUtils;
+import org.example.membership.config.BatchConcurrency;
+import org.example.membership.config.MyWasInstanceHolder;
+import org.example.membership.entity.batch.BatchWorkUnit.Status;
+import org.example.membership.repository.jpa.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * [분산 모드 리더] 유저 id 구간 작업 단위를 batch_work_unit 에 발행하고, 모든 WAS 워커가 끝낼 때까지 기다립니다.
+ *
+ * - 리더도 DistributedBatchWorker 로 함께 처리 → 월말 처리 시간이 살아있는 WAS 수에 비례해 줄어듦
+ * - 대기 중 하트비트가 끊긴 WAS 의 CLAIMED 단위는 PENDING 으로 회수해 다른 WAS 가 다시 가져가게 함
+ *   (리더 자신이 잡은 단위는 제외. 리더 하트비트는 전용 스레드라 이 대기 루프에 막히지 않음)
+ * - 단위 하나라도 FAILED(재시도 소진)면 배치 실패
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DistributedBatchRunner {
+
+    private final BatchWorkQueueTx queueTx;
+    private final DistributedBatchWorker worker;
+    private final UserRepository userRepository;
+    private final BatchConcurrency batchConcurrency;
+    private final MyWasInstanceHolder myWasInstanceHolder;
+
+    // 0 이하면 동시 실행 한도의 8배 (WAS 여러 대가 나눠 가지도록 파이프라인 모드보다 잘게)
+    @Value("${batch.snapshot.distributed-units:0}")
+    private int distributedUnits;
+
+    @Value("${batch.snapshot.distributed-poll-millis:2000}")
+    private long pollMillis;
+
+    @Value("${batch.snapshot.distributed-timeout-minutes:120}")
+    private long timeoutMinutes;
+
+    @Value("${cluster.heartbeat.alive-threshold-seconds:30}")
+    private long aliveThresholdSeconds;
+
+    // fence: 대기 루프마다 호출 (다른 WAS 가 실행을 인수했으면 예외로 대기를 중단)
+    public void run(UUID executionId, LocalDate targetDate, LocalDateTime cutoffAt, LocalDateTime t0, int batchSize,
+                    Runnable fence) {
+        // 이미 발행된 실행(고아 인수 후 재개)이면 남은 단위만 이어서 처리
+        long published = queueTx.countByStatus(executionId).values().stream().mapToLong(Long::longValue).sum();
+        if (published > 0) {
+            log.info("[분산 배치 재개] executionId={}, units={}", executionId, published);
+            worker.kick();
+            awaitCompletion(executionId, fence);
+            log.info("[분산 배치 완료] executionId={}", executionId);
+            return;
+        }
+
+        if (userRepository.count() == 0) {
+            log.info("[분산 배치] 대상 유저 없음");
+            return;
+        }
+        long minUserId = userRepository.findMinUserId();
+        long maxUserId = userRepository.findMaxUserId();
+        List<long[]> ranges = PartitionUtils.splitRange(minUserId, maxUserId,
+                batchConcurrency.partitions(distributedUnits, 8));
+        int units = queueTx.publish(executionId, targetDate, cutoffAt, t0, batchSize, ranges);
+        log.info("[분산 배치 시작] users=[{}, {}], units={}", minUserId, maxUserId, units);
+
+        worker.kick();
+        awaitCompletion(executionId, fence);
+        log.info("[분산 배치 완료] executionId={}", executionId);
+    }
+
+    private void awaitCompletion(UUID executionId, Runnable fence) {
+        long deadline = System.currentTimeMillis() + timeoutMinutes * 60_000;
+        while (true) {
+            fence.run();
+            Map<Status, Long> counts = queueTx.countByStatus(executionId);
+            long remaining = counts.get(Status.PENDING) + counts.get(Status.CLAIMED);
+            if (remaining == 0) {
+                if (counts.get(Status.FAILED) > 0) {
+                    throw new IllegalStateException("분산 배치 단위 실패: " + counts);
+                }
+                return;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("분산 배치 대기 시간 초과: " + counts);
+            }
+
+            int requeued = queueTx.requeueOrphaned(executionId, myWasInstanceHolder.getMyUuid(),
+                    LocalDateTime.now().minusSeconds(aliveThresholdSeconds));
+            if (requeued > 0) {
+                log.warn("[분산 배치] 하트비트 끊긴 WAS 의 단위 {}건 회수", requeued);
+            }
+            worker.kick();
+
+            try {
+                Thread.sleep(pollMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("분산 배치 대기 중 인터럽트", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.membership.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.membership.config.BatchConcurrency;
+import org.example.membership.config.MyWasInstanceHolder;
+import org.example.membership.entity.batch.BatchWorkUnit;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * [분산 모드] 모든 WAS 에서 batch_work_unit 을 가져가 파이프라인 파티션(배지 산출→적용→레벨→쿠폰)으로 실행합니다.
+ *
+ * - 주기적으로 큐를 확인해 동시 실행 한도만큼 워커 루프를 띄우고, 각 루프는 큐가 빌 때까지 claim → 실행 → 완료 보고를 반복
+ * - 스케줄러 스레드는 루프를 제출만 하고 기다리지 않음 (하트비트 스케줄이 밀려 고아로 오판되지 않도록)
+ * - 실패한 단위는 시도 횟수가 남아 있으면 PENDING 으로 돌아가 아무 WAS 나 다시 가져감
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DistributedBatchWorker {
+
+    private final BatchWorkQueueTx queueTx;
+    private final PipelinedBatchRunner pipelinedBatchRunner;
+    private final MyWasInstanceHolder myWasInstanceHolder;
+    private final BatchConcurrency batchConcurrency;
+    @Qualifier("batchExecutorService")
+    private final ExecutorService batchExecutorService;
+
+    @Value("${batch.snapshot.distributed:false}")
+    private boolean distributed;
+
+    @Value("${batch.snapshot.distributed-unit-max-attempts:3}")
+    private int maxAttempts;
+
+    private final AtomicInteger activeLoops = new AtomicInteger();
+
+    @Scheduled(fixedDelayString = "${batch.snapshot.distributed-poll-millis:2000}")
+    public void poll() {
+        if (distributed) kick();
+    }
+
+    // 빈 워커 슬롯만큼 루프 제출 (대기하지 않음)
+    public void kick() {
+        UUID wasId = myWasInstanceHolder.getMyUuid();
+        if (wasId == null) return;
+        int limit = batchConcurrency.parallelism();
+        while (true) {
+            int active = activeLoops.get();
+            if (active >= limit) return;
+            if (!activeLoops.compareAndSet(active, active + 1)) continue;
+            try {
+                batchExecutorService.submit(() -> workLoop(wasId));
+            } catch (RuntimeException e) {
+                activeLoops.decrementAndGet();
+                throw e;
+            }
+        }
+    }
+
+    private void workLoop(UUID wasId) {
+        try {
+            Optional<BatchWorkUnit> next;
+            while ((next = queueTx.claimNext(wasId)).isPresent()) {
+                execute(next.get(), wasId);
+            }
+        } catch (Exception e) {
+            log.error("[분산 배치] 워커 루프 중단", e);
+        } finally {
+            activeLoops.decrementAndGet();
+        }
+    }
+
+    private void execute(BatchWorkUnit unit, UUID wasId) {
+        Instant start = Instant.now();
+        try {
+            pipelinedBatchRunner.runPartition(unit.getExecutionId(), unit.getTargetDate(), unit.getCutoffAt(),
+                    unit.getBatchStartAt(), unit.getBatchSize(), unit.getUserIdStart(), unit.getUserIdEnd(),
+                    () -> queueTx.assertClaimed(unit, wasId));
+            if (!queueTx.complete(unit.getId(), wasId)) {
+                log.warn("[분산 배치] 완료 보고 무시됨 (회수된 단위) unit={} users=[{}, {}]",
+                        unit.getId(), unit.getUserIdStart(), unit.getUserIdEnd());
+                return;
+            }
+            log.info("[분산 배치] 단위 완료 unit={} users=[{}, {}] | 시도: {} | 소요 시간: {}ms",
+                    unit.getId(), unit.getUserIdStart(), unit.getUserIdEnd(), unit.getAttempts(),
+                    Duration.between(start, Instant.now()).toMillis());
+        } catch (Exception e) {
+            log.error("[분산 배치] 단위 실패 unit={} users=[{}, {}] | 시도: {}/{}",
+                    unit.getId(), unit.getUserIdStart(), unit.getUserIdEnd(), unit.getAttempts(), maxAttempts, e);
+            queueTx.fail(unit.getId(), wasId, maxAttempts);
+        }
+    }
+}
@@ -2,21 +2,17 @@ package org.example.membership.batch;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.membership.batch.BatchResultBulkWriter.LevelChange;
 import org.example.membership.common.enums.MembershipLevel;
 import org.example.membership.entity.User;
-import org.example.membership.entity.batch.LevelResult;
 import org.example.membership.repository.jpa.BadgeRepository;
-import org.example.membership.repository.jpa.batch.LevelResultRepository;
 import org.springframework.stereotype.Component;
-import org.springframework.util.CollectionUtils;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 // LevelResultCalculator.java
 @Component
@@ -24,7 +20,7 @@ import java.util.stream.Collectors;
 @Slf4j
 public class LevelResultCalculator {
 
-    private final LevelResultRepository levelResultRepository;
+    private final BatchResultBulkWriter bulkWriter;
     private final BadgeRepository badgeRepository;
 
     public void calculateAndStoreResults(UUID executionId, List<User> users, int batchSize /*, LocalDateTime t0 무시 */) {
@@ -37,22 +33,18 @@ public class LevelResultCalculator {
 
         Map<Long, Long> badgeCnt = getActiveBadgeCountMapCurrent(users);
 
-        List<LevelResult> results = new ArrayList<>();
+        List<LevelChange> results = new ArrayList<>();
         for (User u : users) {
             long cnt = badgeCnt.getOrDefault(u.getId(), 0L);
             MembershipLevel newLevel = determineNewLevel(cnt);
             if (u.getMembershipLevel() != newLevel) {
-                results.add(LevelResult.builder()
-                        .executionId(executionId)
-                        .userId(u.getId())
-                        .newLevel(newLevel)
-                        .build());
+                results.add(new LevelChange(u.getId(), newLevel));
             }
         }
 
         if (!results.isEmpty()) {
-            // 필요 시 batchSize로 나눠 saveAll
-            levelResultRepository.saveAll(results);
+            // batchSize 단위 JDBC 배치 INSERT (시간순 UUID)
+            bulkWriter.insertLevelResults(executionId, results, batchSize);
             log.info("[등급 결과 저장 완료] {}건", results.size());
         } else {
             log.info("[등급 결과 계산 완료] 변경 없음");
@@ -71,7 +63,8 @@ public class LevelResultCalculator {
         return map;
     }
 
-    private MembershipLevel determineNewLevel(long activeBadgeCount) {
+    // 패키지 공개: JMH 벤치마크(src/jmh)에서 직접 호출
+    static MembershipLevel determineNewLevel(long activeBadgeCount) {
         if (activeBadgeCount >= 6) return MembershipLevel.VIP;
         if (activeBadgeCount >= 4) return MembershipLevel.GOLD;
         if (activeBadgeCount >= 2) return MembershipLevel.SILVER;
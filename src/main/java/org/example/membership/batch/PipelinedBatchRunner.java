@@ -0,0 +1,135 @@
+package org.example.membership.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.membership.batch.BatchMetrics.Phase;
+import org.example.membership.common.util.PartitionUtils;
+import org.example.membership.config.BatchConcurrency;
+import org.example.membership.repository.jpa.UserRepository;
+import org.example.membership.service.jpa.JpaCouponService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * [파이프라인 모드] 유저 id 구간 파티션마다 배지 산출 → 배지 적용 → 레벨 산출 → 레벨 적용 → 쿠폰 발급을 독립적으로 흘립니다.
+ *
+ * - 파티션 수를 스레드 수보다 크게 잡아, 서로 다른 파티션이 서로 다른 단계에 동시에 머물도록 합니다.
+ * - 한 파티션 안에서는 단계가 순서대로 실행되므로 "유저의 레벨은 그 유저의 배지 적용 이후에만 계산" 불변식이 유지됩니다.
+ * - 파티션 작업 안에서는 executor 에 다시 제출하지 않습니다. (같은 풀 중첩 대기로 인한 교착 방지)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PipelinedBatchRunner {
+
+    private static final int APPLY_PAGE_SIZE = 5_000;
+
+    private final ReadPhaseService readPhaseService;
+    private final ChunkWriter chunkWriter;
+    private final BatchResultApplier batchResultApplier;
+    private final JpaCouponService jpaCouponService;
+    private final UserRepository userRepository;
+    private final BatchMetrics batchMetrics;
+    private final BatchConcurrency batchConcurrency;
+    @Qualifier("batchExecutorService")
+    private final ExecutorService batchExecutorService;
+
+    // 0 이하면 동시 실행 한도의 4배
+    @Value("${batch.snapshot.pipeline-partitions:0}")
+    private int pipelinePartitions;
+
+    @Value("${batch.snapshot.read-page-size:2000}")
+    private int readPageSize;
+
+    // fence: 파티션 시작 전마다 호출 (다른 WAS 가 실행을 인수했으면 예외로 남은 파티션을 중단)
+    public void run(UUID executionId, LocalDate targetDate, LocalDateTime cutoffAt, LocalDateTime t0, int batchSize,
+                    Runnable fence) {
+        if (userRepository.count() == 0) {
+            log.info("[파이프라인] 대상 유저 없음");
+            return;
+        }
+        long minUserId = userRepository.findMinUserId();
+        long maxUserId = userRepository.findMaxUserId();
+        List<long[]> ranges = PartitionUtils.splitRange(minUserId, maxUserId,
+                batchConcurrency.partitions(pipelinePartitions, 4));
+        log.info("[파이프라인 시작] users=[{}, {}], partitions={}", minUserId, maxUserId, ranges.size());
+
+        List<Future<?>> futures = new ArrayList<>(ranges.size());
+        for (long[] range : ranges) {
+            futures.add(batchExecutorService.submit(() -> {
+                fence.run();
+                runPartition(executionId, targetDate, cutoffAt, t0, batchSize, range[0], range[1], fence);
+            }));
+        }
+
+        try {
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("파이프라인 실행 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            // 아직 시작 전인 파티션은 취소 (이미 커밋된 파티션은 PENDING 결과 기준으로 재실행 시 건너뜀)
+            futures.forEach(f -> f.cancel(false));
+            throw new IllegalStateException("파이프라인 파티션 실패", e.getCause());
+        }
+        log.info("[파이프라인 완료] executionId={}", executionId);
+    }
+
+    // 한 유저 구간의 Phase 1~5 (분산 모드 워커도 작업 단위마다 이 메서드를 실행)
+    // fence: 산출/쿠폰 청크 트랜잭션마다 쓰기 전에 호출 (리더는 실행 소유권, 분산 워커는 작업 단위 점유 확인)
+    void runPartition(UUID executionId, LocalDate targetDate, LocalDateTime cutoffAt, LocalDateTime t0,
+                              int batchSize, long startUserId, long endUserId, Runnable fence) {
+        Instant start = Instant.now();
+
+        // 1) 배지 산출 (구간 안에서 페이지 단위)
+        long badgeTargets = batchMetrics.timePhase(executionId, Phase.PRODUCE_BADGES, () ->
+                readPhaseService.streamBadgeUpdateTargets(targetDate, cutoffAt,
+                        startUserId, endUserId, readPageSize,
+                        changes -> batchMetrics.timeChunk(executionId, Phase.PRODUCE_BADGES,
+                                () -> chunkWriter.writeBadgeChunk(executionId, changes, batchSize, fence))));
+        batchMetrics.recordRows(executionId, Phase.PRODUCE_BADGES, badgeTargets);
+
+        // 2) 배지 적용 (행 수/페이지 수는 BatchResultApplier 에서 기록)
+        long badgesApplied = batchMetrics.timePhase(executionId, Phase.APPLY_BADGES, () ->
+                batchResultApplier.applyBadgeResultsInUserRange(executionId, startUserId, endUserId, t0, APPLY_PAGE_SIZE));
+
+        // 3) 레벨 산출 — 이 구간의 배지 적용이 끝난 뒤의 현재 상태 기준
+        batchMetrics.timePhase(executionId, Phase.PRODUCE_LEVELS, () ->
+                readPhaseService.forEachUserPage(startUserId, endUserId, readPageSize, users -> {
+                    batchMetrics.timeChunk(executionId, Phase.PRODUCE_LEVELS,
+                            () -> chunkWriter.writeLevelChunk(executionId, users, batchSize, fence));
+                    batchMetrics.recordRows(executionId, Phase.PRODUCE_LEVELS, users.size());
+                }));
+
+        // 4) 레벨 적용
+        long levelsApplied = batchMetrics.timePhase(executionId, Phase.APPLY_LEVELS, () ->
+                batchResultApplier.applyLevelResultsInUserRange(executionId, startUserId, endUserId, t0, APPLY_PAGE_SIZE));
+
+        // 5) 쿠폰 발급 — 적용된 등급을 다시 읽어 사용
+        batchMetrics.timePhase(executionId, Phase.COUPONS, () ->
+                readPhaseService.forEachUserPage(startUserId, endUserId, readPageSize, users -> {
+                    batchMetrics.timeChunk(executionId, Phase.COUPONS,
+                            () -> jpaCouponService.bulkIssueCoupons(users, batchSize, fence));
+                    batchMetrics.recordRows(executionId, Phase.COUPONS, users.size());
+                }));
+
+        log.info("[파이프라인 파티션 완료] users=[{}, {}] | 배지 대상: {} | 배지 적용: {} | 레벨 적용: {} | 소요 시간: {}ms",
+                startUserId, endUserId, badgeTargets, badgesApplied, levelsApplied,
+                Duration.between(start, Instant.now()).toMillis());
+    }
+}
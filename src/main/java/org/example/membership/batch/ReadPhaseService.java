@@ -1,18 +1,19 @@
 package org.example.membership.batch;
 
 import lombok.RequiredArgsConstructor;
-import org.example.membership.dto.OrderCountAndAmount;
+import org.example.membership.common.badge.BadgeChangeSet;
 import org.example.membership.entity.User;
 import org.example.membership.repository.jpa.UserRepository;
 import org.example.membership.service.jpa.JpaBadgeService;
 import org.example.membership.service.jpa.JpaOrderService;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Consumer;
 
 
 
@@ -28,17 +29,84 @@ public class ReadPhaseService {
     public CalcContext buildContext(LocalDate targetDate, LocalDateTime cutoffAt, int batchSize, LocalDateTime batchStartTime) {
         List<User> allUsers = userRepository.findAll();
 
-        //Map<userId,Map<categoryId,{long Count,BigDecimal Amount}>>,유저별 카테고리별 주문 개수와 주문액
-        Map<Long, Map<Long, OrderCountAndAmount>> statMap =
-                jpaOrderService.aggregateUserCategoryStats(targetDate, cutoffAt);
+        //[userId, categoryId, count, amount] 유저별 카테고리별 주문 개수와 주문액, (userId, categoryId) 정렬
+        List<Object[]> sortedStats = jpaOrderService.findUserCategoryStatsSorted(targetDate, cutoffAt);
 
-        Map<String, Boolean> keysToUpdate =
-                jpaBadgeService.detectBadgeUpdateTargets(allUsers, statMap);
+        BadgeChangeSet badgeChanges =
+                jpaBadgeService.detectBadgeUpdateTargets(sortedStats);
 
-        boolean empty = keysToUpdate.isEmpty();
+        boolean empty = badgeChanges.isEmpty();
         if (empty) {
             return CalcContext.createEmpty(batchStartTime);
         }
-        return new CalcContext(allUsers, keysToUpdate, batchSize, false, batchStartTime);
+        return CalcContext.of(allUsers, badgeChanges, batchSize, batchStartTime);
     }
-}
\ No newline at end of file
+
+    /**
+     * [재개] Phase 1 이 이미 끝난 실행을 이어갈 때의 컨텍스트 (배지 변경분은 이미 badge_results 에 있으므로 재계산하지 않음)
+     */
+    @Transactional(readOnly = true)
+    public CalcContext buildResumeContext(int batchSize, LocalDateTime batchStartTime) {
+        return CalcContext.of(userRepository.findAll(), BadgeChangeSet.empty(), batchSize, batchStartTime);
+    }
+
+    /**
+     * [스트리밍 모드] 유저 id 키셋 페이지 단위로 배지 변경분을 계산해 sink 로 흘려보냅니다.
+     * 페이지마다 해당 id 구간의 주문 집계/배지 상태만 읽으므로 최대 메모리는 pageSize 에 비례합니다.
+     * 트랜잭션을 걸지 않아 페이지별 조회가 각각 짧은 트랜잭션으로 끝나고, 영속성 컨텍스트가 쌓이지 않습니다.
+     *
+     * @return 전체 배지 변경 대상 건수
+     */
+    public long streamBadgeUpdateTargets(LocalDate targetDate, LocalDateTime cutoffAt, int pageSize,
+                                         Consumer<BadgeChangeSet> sink) {
+        return streamBadgeUpdateTargets(targetDate, cutoffAt, 0L, Long.MAX_VALUE, pageSize, sink);
+    }
+
+    /**
+     * 유저 id 구간 [startUserId, endUserId] 안에서만 스트리밍합니다. (파이프라인 모드 파티션 단위)
+     */
+    public long streamBadgeUpdateTargets(LocalDate targetDate, LocalDateTime cutoffAt,
+                                         long startUserId, long endUserId, int pageSize,
+                                         Consumer<BadgeChangeSet> sink) {
+        long total = 0;
+        long afterId = startUserId - 1;
+        while (true) {
+            List<Long> ids = userRepository.findIdsAfter(afterId, endUserId, PageRequest.of(0, pageSize));
+            if (ids.isEmpty()) break;
+
+            long pageStart = ids.get(0);
+            long pageEnd = ids.get(ids.size() - 1);
+
+            List<Object[]> sortedStats =
+                    jpaOrderService.findUserCategoryStatsSorted(targetDate, cutoffAt, pageStart, pageEnd);
+            BadgeChangeSet changes =
+                    jpaBadgeService.detectBadgeUpdateTargetsInRange(pageStart, pageEnd, sortedStats);
+
+            if (!changes.isEmpty()) {
+                sink.accept(changes);
+                total += changes.size();
+            }
+            afterId = pageEnd;
+        }
+        return total;
+    }
+
+    /**
+     * [스트리밍 모드] 유저를 id 키셋 페이지로 읽어 consumer 에 넘깁니다. (Phase 3 / Phase 5 용)
+     * 넘겨받는 User 는 준영속 상태이므로 지연 로딩 컬렉션에 접근하면 안 됩니다.
+     */
+    public void forEachUserPage(int pageSize, Consumer<List<User>> consumer) {
+        forEachUserPage(0L, Long.MAX_VALUE, pageSize, consumer);
+    }
+
+    public void forEachUserPage(long startUserId, long endUserId, int pageSize, Consumer<List<User>> consumer) {
+        long afterId = startUserId - 1;
+        while (true) {
+            List<User> page = userRepository.findPageAfterId(afterId, endUserId, PageRequest.of(0, pageSize));
+            if (page.isEmpty()) break;
+
+            consumer.accept(page);
+            afterId = page.get(page.size() - 1).getId();
+        }
+    }
+}
@@ -2,13 +2,16 @@ package org.example.membership.batch;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.membership.batch.BatchMetrics.Phase;
+import org.example.membership.config.MyWasInstanceHolder;
 import org.example.membership.entity.batch.BatchExecutionLog;
-import org.example.membership.repository.jpa.batch.BatchExecutionLogRepository;
+import org.example.membership.exception.BatchFencedException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 @Component
@@ -16,51 +19,185 @@ import java.util.UUID;
 @Slf4j
 public class SnapshotBatchOrchestrator {
     private final BatchExecutionLogTx logTx;
+    private final BatchCheckpointTx checkpointTx;
     private final ReadPhaseService readPhaseService;
     private final WritePhaseService writePhaseService;
+    private final PipelinedBatchRunner pipelinedBatchRunner;
+    private final DistributedBatchRunner distributedBatchRunner;
+    private final MyWasInstanceHolder myWasInstanceHolder;
 
+    // true: 유저 id 키셋 페이지 단위 스트리밍 읽기 (전체 User/Badge 를 메모리에 올리지 않음)
+    @Value("${batch.snapshot.streaming-read:false}")
+    private boolean streamingRead;
+
+    @Value("${batch.snapshot.read-page-size:2000}")
+    private int readPageSize;
+
+    // true: 유저 구간 파티션마다 Phase 1~5 를 독립적으로 흘리는 파이프라인 모드
+    @Value("${batch.snapshot.pipelined:false}")
+    private boolean pipelined;
+
+    // true: 유저 구간 작업 단위를 batch_work_unit 에 발행하고 살아있는 모든 WAS 가 나눠 실행
+    @Value("${batch.snapshot.distributed:false}")
+    private boolean distributed;
+
+    @Value("${cluster.heartbeat.alive-threshold-seconds:30}")
+    private long aliveThresholdSeconds;
+
+    /**
+     * @return 이 WAS 가 실행을 끝냈으면(성공/실패) true. 선점 실패 또는 도중에 다른 WAS 에 인수되면 false
+     *         (false 면 호출자는 배지 플래그 해제를 브로드캐스트하지 않음 → 실행을 이어받은 WAS 가 담당)
+     */
     public boolean runFullBatch(LocalDate targetDate, int batchSize) {
         UUID exec = UUID.randomUUID();
         LocalDateTime t0 = LocalDateTime.now();
         LocalDateTime cutoff = targetDate.atStartOfDay();
 
-        if (!logTx.lockStart(exec, targetDate.toString(), cutoff)) {
+        if (!logTx.lockStart(exec, targetDate.toString(), cutoff, t0, myWasInstanceHolder.getMyUuid())) {
             log.warn("다른 배치 실행 중, 건너뜀");
             return false;
         }
+        return execute(exec, targetDate, cutoff, t0, batchSize, false);
+    }
+
+    /**
+     * 실행 WAS 의 하트비트가 끊긴 RUNNING 실행을 인수해 체크포인트부터 이어서 실행합니다.
+     * t0 는 원래 실행의 started_at 을 그대로 사용합니다. (중단 중 API 변경도 조건부 UPDATE 로 보호)
+     *
+     * @return 인수해서 실행을 끝냈으면 true
+     */
+    public boolean resumeOrphaned(int batchSize) {
+        LocalDateTime threshold = LocalDateTime.now().minusSeconds(aliveThresholdSeconds);
+        Optional<BatchExecutionLog> orphan = logTx.takeOverOrphaned(myWasInstanceHolder.getMyUuid(), threshold);
+        if (orphan.isEmpty()) return false;
 
+        BatchExecutionLog b = orphan.get();
+        log.warn("[배치 재개] 고아 실행 인수 executionId={}, targetDate={}, t0={}",
+                b.getExecutionId(), b.getTargetDate(), b.getStartedAt());
+        return execute(b.getExecutionId(), LocalDate.parse(b.getTargetDate()), b.getCutoffAt(), b.getStartedAt(),
+                batchSize, true);
+    }
+
+    private boolean execute(UUID exec, LocalDate targetDate, LocalDateTime cutoff, LocalDateTime t0,
+                            int batchSize, boolean resumed) {
         try {
-            /* CalcContext {
-                    List<User> myUsers,
-                    Map<String, Boolean> keysToUpdate, = <userId + ":" + categoryId,배지 활성화여부>
-                    int batchSize,
-                    boolean empty,
-                    LocalDateTime batchStartTime
+            runPhases(exec, targetDate, cutoff, t0, batchSize, resumed);
+            return true;
+        } catch (Exception e) {
+            if (isFenced(e)) {
+                // 다른 WAS 가 인수함: 부분 결과 삭제/상태 변경 없이 손을 뗌 (플래그 해제도 새 소유 WAS 가 담당)
+                log.warn("[배치] 실행 소유권 상실, 중단 executionId={}", exec);
+                return false;
             }
+            logTx.markFailed(exec, myUuid());
+            throw e;
+        }
+    }
+
+    // 파티션/청크 작업에서 난 펜싱 예외는 ExecutionException 등으로 감싸져 올라옴
+    private static boolean isFenced(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof BatchFencedException) return true;
+        }
+        return false;
+    }
+
+    private void runPhases(UUID exec, LocalDate targetDate, LocalDateTime cutoff, LocalDateTime t0,
+                           int batchSize, boolean resumed) {
+        fence(exec);
+        if (distributed) {
+            // 작업 큐 자체가 체크포인트: 재개 시 남은 단위만 이어서 처리 (대기 루프에서도 펜싱)
+            distributedBatchRunner.run(exec, targetDate, cutoff, t0, batchSize, () -> fence(exec));
+            logTx.markCompleted(exec, myUuid());
+            return;
+        }
+
+        if (pipelined) {
+            // 재개 시 전체 파티션 재실행 (적용 단계는 PENDING 결과만 읽으므로 커밋된 페이지는 건너뜀, 파티션마다 펜싱)
+            pipelinedBatchRunner.run(exec, targetDate, cutoff, t0, batchSize, () -> fence(exec));
+            logTx.markCompleted(exec, myUuid());
+            return;
+        }
+
+        /* CalcContext {
+                List<User> myUsers,
+                BadgeChangeSet badgeChanges, = (userId, categoryId, 배지 활성화여부) packed long 목록
+                int batchSize,
+                boolean empty,
+                LocalDateTime batchStartTime,
+                boolean streaming
+        }
+
+        * */
+        // 단계별 체크포인트: 완료된 단계는 건너뛰고, 진행 중이던 단계는 커서 다음부터 (산출 단계는 부분 결과 폐기 후 재산출)
+        boolean badgesProduced = resumed && checkpointTx.isCompleted(exec, Phase.PRODUCE_BADGES);
+        if (resumed && !badgesProduced) {
+            writePhaseService.discardBadgeResults(exec, () -> fence(exec));
+        }
 
-            * */
-            CalcContext ctx = readPhaseService.buildContext(targetDate, cutoff, batchSize, t0);
+        CalcContext ctx;
+        if (streamingRead) {
+            // 읽기 단계와 Phase 1 을 합쳐 페이지별로 바로 badge_results 에 저장
+            ctx = CalcContext.streaming(batchSize, t0);
+            if (!badgesProduced) {
+                long targets = writePhaseService.produceBadgeResultsStreaming(exec, targetDate, cutoff, ctx, readPageSize,
+                        () -> fence(exec));
+                checkpointTx.markCompleted(exec, Phase.PRODUCE_BADGES);
+                if (targets == 0) {
+                    logTx.markCompleted(exec, myUuid());
+                    return;
+                }
+            }
+        } else if (badgesProduced) {
+            ctx = readPhaseService.buildResumeContext(batchSize, t0);
+        } else {
+            ctx = readPhaseService.buildContext(targetDate, cutoff, batchSize, t0);
             if (ctx.empty()) {
-                logTx.markCompleted(exec);
-                return true;
+                logTx.markCompleted(exec, myUuid());
+                return;
             }
 
             // Phase 1~4 순서대로 명시 호출
             // ctx에 있는 keyToUpdate를 통해 어떤 유저의 어떤 카테고리의 배지를 활성화할지 Result 스냅샷 테이블에 저장
-            writePhaseService.produceBadgeResults(exec, ctx);
+            writePhaseService.produceBadgeResults(exec, ctx, () -> fence(exec));
+            checkpointTx.markCompleted(exec, Phase.PRODUCE_BADGES);
+        }
+
+        fence(exec);
+        if (!checkpointTx.isCompleted(exec, Phase.APPLY_BADGES)) {
             writePhaseService.applyBadges(exec, t0);
+            checkpointTx.markCompleted(exec, Phase.APPLY_BADGES);
+        }
+
+        fence(exec);
+        if (!checkpointTx.isCompleted(exec, Phase.PRODUCE_LEVELS)) {
+            // 비스트리밍 산출은 병렬 커밋이라 커서가 없으므로 부분 결과를 버리고 다시 산출
+            if (resumed && !ctx.streaming()) writePhaseService.discardLevelResults(exec, () -> fence(exec));
+            writePhaseService.produceLevelResults(exec, ctx, readPageSize, () -> fence(exec));
+            checkpointTx.markCompleted(exec, Phase.PRODUCE_LEVELS);
+        }
 
-            writePhaseService.produceLevelResults(exec, ctx);
+        fence(exec);
+        if (!checkpointTx.isCompleted(exec, Phase.APPLY_LEVELS)) {
             writePhaseService.applyLevels(exec, t0);
+            checkpointTx.markCompleted(exec, Phase.APPLY_LEVELS);
+        }
 
-            // 쿠폰 적용 단계는 그대로 마지막
-            writePhaseService.applyCoupon(exec, ctx);
+        fence(exec);
+        // 쿠폰 적용 단계는 그대로 마지막 (기발급 수 기준 발급이라 재실행해도 중복 발급 없음)
+        writePhaseService.applyCoupon(exec, ctx, readPageSize, () -> fence(exec));
+        checkpointTx.markCompleted(exec, Phase.COUPONS);
 
-            logTx.markCompleted(exec);
-            return true;
-        } catch (Exception e) {
-            logTx.markFailed(exec);
-            throw e;
-        }
+        logTx.markCompleted(exec, myUuid());
+    }
+
+    // 다른 WAS 가 인수했으면 BatchFencedException 으로 중단
+    // (단계 사이에서도, 쓰기 청크 트랜잭션 안에서도 호출 → REQUIRED 라 호출한 청크 트랜잭션에 참여해 FOR SHARE 를 커밋까지 보유)
+    private void fence(UUID exec) {
+        logTx.assertOwner(exec, myUuid());
+    }
+
+    private UUID myUuid() {
+        return myWasInstanceHolder.getMyUuid();
     }
 }
@@ -6,6 +6,7 @@ import org.example.membership.entity.User;
 import org.example.membership.entity.batch.BadgeResult;
 import org.example.membership.entity.batch.LevelResult;
 import org.example.membership.repository.jpa.BadgeRepository;
+import org.example.membership.repository.jpa.MembershipLogRepository;
 import org.example.membership.repository.jpa.UserRepository;
 import org.example.membership.repository.jpa.batch.BadgeResultRepository;
 import org.example.membership.repository.jpa.batch.LevelResultRepository;
@@ -24,10 +25,13 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class TransactionalChunkProcessor {
 
+    private static final String LEVEL_CHANGE_REASON = "월간 배치 실행";
+
     private final BadgeRepository badgeRepository;
     private final UserRepository userRepository;
     private final BadgeResultRepository badgeResultRepository;
     private final LevelResultRepository levelResultRepository;
+    private final MembershipLogRepository membershipLogRepository;
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void applyBadgeChunk(List<Badge> badgeChunk, List<BadgeResult> badgeResultChunk) {
@@ -40,8 +44,8 @@ public class TransactionalChunkProcessor {
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void applyBadgeChunkBulk(List<UUID> resultIds) {
-        badgeRepository.applyFromResults(resultIds);   // 1) 조인 업데이트
+    public void applyBadgeChunkBulk(List<UUID> resultIds, LocalDateTime t0) {
+        badgeRepository.applyFromResults(resultIds, t0, LocalDateTime.now());   // 1) 조인 업데이트 (t0 이후 변경된 배지는 제외)
         badgeResultRepository.markApplied(resultIds);  // 2) 결과 상태 일괄 반영
     }
 
@@ -66,12 +70,27 @@ public class TransactionalChunkProcessor {
         for (LevelResult r : results) {
             User u = users.get(r.getUserId());
             if (u != null && (u.getLastMembershipChange()==null || u.getLastMembershipChange().isBefore(t0))) {
-                u.applyLevelAndLog(r, "월간 배치 실행"); // 도메인 로직/로그 보존
+                u.applyLevelAndLog(r, LEVEL_CHANGE_REASON); // 도메인 로직/로그 보존
             }
             r.markApplied();
         }
         // 커밋 시 더티체크로 배치 UPDATE 발생 (hibernate.jdbc.batch_size 적용)
     }
 
+    /**
+     * applyLevelChunkManaged 의 Set 기반 버전 (엔티티 로딩/더티체크/로그 건별 INSERT 없음)
+     * 1) 대상 유저 행 잠금 2) membership_log INSERT ... SELECT (변경 전 등급 기록)
+     * 3) users JOIN level_results UPDATE 4) 결과 APPLIED 처리
+     * 2)와 3)은 같은 가드(last_membership_change < t0, 등급 변경 있음)를 사용합니다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void applyLevelChunkBulk(List<UUID> resultIds, LocalDateTime t0) {
+        LocalDateTime now = LocalDateTime.now();
+        userRepository.lockUsersForLevelResults(resultIds);
+        membershipLogRepository.insertFromLevelResults(resultIds, t0, LEVEL_CHANGE_REASON, now);
+        userRepository.applyLevelsFromResults(resultIds, t0, now);
+        levelResultRepository.markApplied(resultIds);
+    }
+
 
 }
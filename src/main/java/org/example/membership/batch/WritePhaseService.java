@@ -2,15 +2,19 @@ package org.example.membership.batch;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.membership.batch.BatchMetrics.Phase;
+import org.example.membership.common.badge.BadgeChangeSet;
+import org.example.membership.config.BatchConcurrency;
 import org.example.membership.entity.User;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.stream.Collectors;
 
 // WritePhaseService.java — 핵심만
 @Service
@@ -18,54 +22,162 @@ import java.util.stream.Collectors;
 @Slf4j
 public class WritePhaseService {
 
+    private static final int BADGE_CHUNK_SIZE = 500;
+
     private final ChunkWriter chunkWriter;
-    private final LevelResultCalculator levelResultCalculator;
+    private final ReadPhaseService readPhaseService;
+    private final BatchMetrics batchMetrics;
+    private final BatchConcurrency batchConcurrency;
+    private final BatchCheckpointTx checkpointTx;
     @Qualifier("batchExecutorService")
     private final ExecutorService executorService;
 
+    // 스트리밍 모드에서 동시에 대기시킬 수 있는 배지 청크 수 (메모리 상한, 0 이하면 동시 실행 한도의 2배)
+    @Value("${batch.snapshot.max-in-flight-chunks:0}")
+    private int maxInFlightChunks;
+
+    // true: Phase 2 를 유저 id 구간 파티션으로 나눠 병렬 적용
+    @Value("${batch.snapshot.partitioned-apply:false}")
+    private boolean partitionedApply;
+
+    // 0 이하면 동시 실행 한도만큼
+    @Value("${batch.snapshot.apply-partitions:0}")
+    private int applyPartitions;
+
     // 1) 배지 산출만 병렬 수행
-    public void produceBadgeResults(UUID executionId, CalcContext ctx) {
+    // (이하 fence 인자: 산출/쿠폰/폐기 청크마다 그 트랜잭션 안에서 쓰기 전에 호출, ChunkWriter 참고)
+    public void produceBadgeResults(UUID executionId, CalcContext ctx, Runnable fence) {
         if (ctx.empty()) return;
         log.info("[Phase 1] 배지 결과 계산 시작");
-        List<Future<?>> fs = new ArrayList<>();
-        List<Map.Entry<String,Boolean>> entries = new ArrayList<>(ctx.keysToUpdate().entrySet());
-        for (int i = 0; i < entries.size(); i += 500) {
-            Map<String,Boolean> sub = entries.subList(i, Math.min(i+500, entries.size()))
-                    .stream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-            fs.add(executorService.submit(() -> chunkWriter.writeBadgeChunk(executionId, sub, ctx.batchSize())));
-        }
-        waitFor(fs);
+        batchMetrics.timePhase(executionId, Phase.PRODUCE_BADGES, () -> {
+            List<Future<?>> fs = new ArrayList<>();
+            BadgeChangeSet changes = ctx.badgeChanges();
+            for (int i = 0; i < changes.size(); i += BADGE_CHUNK_SIZE) {
+                BadgeChangeSet sub = changes.slice(i, Math.min(i + BADGE_CHUNK_SIZE, changes.size()));
+                fs.add(executorService.submit(() -> writeBadgeChunk(executionId, sub, ctx.batchSize(), fence)));
+            }
+            waitFor(fs);
+            batchMetrics.recordRows(executionId, Phase.PRODUCE_BADGES, changes.size());
+        });
         log.info("[Phase 1] 배지 결과 계산 완료");
     }
 
-    // 2) 배지 적용
+    // 1) [스트리밍] 읽기 단계가 페이지별로 흘려보내는 변경분을 바로 청크 저장 (전체 변경분을 모으지 않음)
+    public long produceBadgeResultsStreaming(UUID executionId, LocalDate targetDate, LocalDateTime cutoffAt,
+                                             CalcContext ctx, int pageSize, Runnable fence) {
+        log.info("[Phase 1] 배지 결과 계산 시작 (streaming, pageSize={})", pageSize);
+        long total = batchMetrics.timePhase(executionId, Phase.PRODUCE_BADGES, () -> {
+            Deque<Future<?>> inFlight = new ArrayDeque<>();
+            long targets = readPhaseService.streamBadgeUpdateTargets(targetDate, cutoffAt, pageSize, changes -> {
+                for (int i = 0; i < changes.size(); i += BADGE_CHUNK_SIZE) {
+                    BadgeChangeSet sub = changes.slice(i, Math.min(i + BADGE_CHUNK_SIZE, changes.size()));
+                    // back-pressure: 대기 청크가 상한을 넘으면 가장 오래된 청크 완료를 기다림
+                    while (inFlight.size() >= batchConcurrency.partitions(maxInFlightChunks, 2)) {
+                        waitFor(inFlight.pollFirst());
+                    }
+                    inFlight.add(executorService.submit(() -> writeBadgeChunk(executionId, sub, ctx.batchSize(), fence)));
+                }
+            });
+            waitFor(new ArrayList<>(inFlight));
+            return targets;
+        });
+        batchMetrics.recordRows(executionId, Phase.PRODUCE_BADGES, total);
+        log.info("[Phase 1] 배지 결과 계산 완료 (streaming) 대상={}건", total);
+        return total;
+    }
+
+    // 2) 배지 적용 (행 수/페이지 수는 BatchResultApplier 에서 기록)
     public void applyBadges(UUID executionId, LocalDateTime t0) {
         log.info("[Phase 2] 배지 결과 적용 시작");
-        chunkWriter.applyBadgeResultsPaged(executionId, t0, 5_000);
+        batchMetrics.timePhase(executionId, Phase.APPLY_BADGES, () -> {
+            if (partitionedApply) {
+                chunkWriter.applyBadgeResultsPartitioned(executionId, t0,
+                        batchConcurrency.partitions(applyPartitions, 1), 5_000);
+            } else {
+                chunkWriter.applyBadgeResultsPaged(executionId, t0, 5_000);
+            }
+        });
         log.info("[Phase 2] 배지 결과 적용 완료");
     }
 
     // 3) 레벨 산출 — 반드시 배지 적용 후 현재 상태 기준으로
-    public void produceLevelResults(UUID executionId, CalcContext ctx) {
+    public void produceLevelResults(UUID executionId, CalcContext ctx, int pageSize, Runnable fence) {
         log.info("[Phase 3] 레벨 결과 계산 시작");
-        levelResultCalculator.calculateAndStoreResults(executionId, ctx.myUsers(), ctx.batchSize()/*, ctx.batchStartTime() 무시*/);
+        batchMetrics.timePhase(executionId, Phase.PRODUCE_LEVELS, () -> {
+            if (ctx.streaming()) {
+                // 페이지마다 커밋 후 커서 저장 → 재개 시 마지막 커밋 페이지 다음 유저부터
+                long afterUserId = checkpointTx.userCursor(executionId, Phase.PRODUCE_LEVELS);
+                readPhaseService.forEachUserPage(afterUserId + 1, Long.MAX_VALUE, pageSize, users -> {
+                    batchMetrics.timeChunk(executionId, Phase.PRODUCE_LEVELS,
+                            () -> chunkWriter.writeLevelChunk(executionId, users, ctx.batchSize(), fence));
+                    batchMetrics.recordRows(executionId, Phase.PRODUCE_LEVELS, users.size());
+                    checkpointTx.saveUserCursor(executionId, Phase.PRODUCE_LEVELS, users.get(users.size() - 1).getId());
+                });
+            } else {
+                // 메모리 유저 목록도 pageSize 단위 트랜잭션으로 나눠 저장 (청크마다 펜싱)
+                List<User> users = ctx.myUsers();
+                for (int i = 0; i < users.size(); i += pageSize) {
+                    List<User> page = users.subList(i, Math.min(i + pageSize, users.size()));
+                    batchMetrics.timeChunk(executionId, Phase.PRODUCE_LEVELS,
+                            () -> chunkWriter.writeLevelChunk(executionId, page, ctx.batchSize(), fence));
+                }
+                batchMetrics.recordRows(executionId, Phase.PRODUCE_LEVELS, users.size());
+            }
+        });
         log.info("[Phase 3] 레벨 결과 계산 완료");
     }
 
-    // 4) 레벨 적용
+    // 4) 레벨 적용 (행 수/페이지 수는 BatchResultApplier 에서 기록)
     public void applyLevels(UUID executionId, LocalDateTime t0) {
         log.info("[Phase 4] 레벨 결과 적용 시작");
-        chunkWriter.applyLevelResultsPaged(executionId, t0, 5_000);
+        batchMetrics.timePhase(executionId, Phase.APPLY_LEVELS,
+                () -> chunkWriter.applyLevelResultsPaged(executionId, t0, 5_000));
         log.info("[Phase 4] 레벨 결과 적용 완료");
     }
 
-    public void applyCoupon(UUID executionId, CalcContext ctx) {
+    public void applyCoupon(UUID executionId, CalcContext ctx, int pageSize, Runnable fence) {
         log.info("[Phase 5] 쿠폰 발급 시작");
-        chunkWriter.applyCoupon(executionId, ctx);
+        batchMetrics.timePhase(executionId, Phase.COUPONS, () -> {
+            if (ctx.streaming()) {
+                long afterUserId = checkpointTx.userCursor(executionId, Phase.COUPONS);
+                readPhaseService.forEachUserPage(afterUserId + 1, Long.MAX_VALUE, pageSize, users -> {
+                    batchMetrics.timeChunk(executionId, Phase.COUPONS,
+                            () -> chunkWriter.applyCoupon(executionId, users, ctx.batchSize(), fence));
+                    batchMetrics.recordRows(executionId, Phase.COUPONS, users.size());
+                    checkpointTx.saveUserCursor(executionId, Phase.COUPONS, users.get(users.size() - 1).getId());
+                });
+            } else {
+                chunkWriter.applyCoupon(executionId, ctx, fence);
+                if (!ctx.empty()) batchMetrics.recordRows(executionId, Phase.COUPONS, ctx.myUsers().size());
+            }
+        });
         log.info("[Phase 5] 쿠폰 발급 완료");
     }
 
+    /**
+     * [재개] 완료되지 않은 산출 단계의 부분 결과를 버립니다. (청크가 병렬 커밋돼 커서로 이어갈 수 없는 경우)
+     * 적용 단계가 시작되기 전이므로 이 실행의 결과는 모두 PENDING 입니다.
+     */
+    public void discardBadgeResults(UUID executionId, Runnable fence) {
+        int deleted = chunkWriter.deleteBadgeResults(executionId, fence);
+        log.info("[재개] 미완료 Phase 1 결과 {}건 삭제 후 재산출", deleted);
+    }
+
+    public void discardLevelResults(UUID executionId, Runnable fence) {
+        int deleted = chunkWriter.deleteLevelResults(executionId, fence);
+        log.info("[재개] 미완료 Phase 3 결과 {}건 삭제 후 재산출", deleted);
+    }
+
+    private void writeBadgeChunk(UUID executionId, BadgeChangeSet sub, int batchSize, Runnable fence) {
+        batchMetrics.timeChunk(executionId, Phase.PRODUCE_BADGES,
+                () -> chunkWriter.writeBadgeChunk(executionId, sub, batchSize, fence));
+    }
+
     private void waitFor(List<Future<?>> fs) {
-        for (Future<?> f : fs) try { f.get(); } catch (Exception e) { throw new RuntimeException(e); }
+        for (Future<?> f : fs) waitFor(f);
+    }
+
+    private void waitFor(Future<?> f) {
+        try { f.get(); } catch (Exception e) { throw new RuntimeException(e); }
     }
 }
@@ -0,0 +1,74 @@
+package org.example.membership.common.badge;
+
+import org.example.membership.common.util.BadgeKey;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * 배지 변경분 (userId, categoryId, newState) 모음.
+ * BadgeKey 로 packing 한 long[] + 새 상태 BitSet 으로 저장해 문자열 키/박싱 없이 다룹니다.
+ * 한 스레드에서 채운 뒤 읽기 전용으로 넘기는 용도이며, thread-safe 하지 않습니다.
+ */
+public final class BadgeChangeSet {
+
+    private long[] keys;
+    private final BitSet newStates;
+    private int size;
+
+    public BadgeChangeSet() {
+        this(16);
+    }
+
+    public BadgeChangeSet(int initialCapacity) {
+        this.keys = new long[Math.max(initialCapacity, 1)];
+        this.newStates = new BitSet(Math.max(initialCapacity, 1));
+    }
+
+    private BadgeChangeSet(long[] keys, BitSet newStates, int size) {
+        this.keys = keys;
+        this.newStates = newStates;
+        this.size = size;
+    }
+
+    public static BadgeChangeSet empty() {
+        return new BadgeChangeSet(0);
+    }
+
+    // BadgeDiffEngine.ChangeSink 시그니처와 동일 (changes::add 로 바로 넘길 수 있음)
+    public void add(long userId, long categoryId, boolean newState) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size << 1);
+        }
+        keys[size] = BadgeKey.of(userId, categoryId);
+        if (newState) newStates.set(size);
+        size++;
+    }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public long key(int i) { return keys[checkIndex(i)]; }
+
+    public long userId(int i) { return BadgeKey.userId(key(i)); }
+
+    public long categoryId(int i) { return BadgeKey.categoryId(key(i)); }
+
+    public boolean newState(int i) { return newStates.get(checkIndex(i)); }
+
+    // [from, to) 구간 복사본 (청크 단위로 executor 에 넘길 때 사용)
+    public BadgeChangeSet slice(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("slice [" + from + ", " + to + ") of size " + size);
+        }
+        return new BadgeChangeSet(Arrays.copyOfRange(keys, from, to), newStates.get(from, to), to - from);
+    }
+
+    private int checkIndex(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("index " + i + " of size " + size);
+        }
+        return i;
+    }
+}
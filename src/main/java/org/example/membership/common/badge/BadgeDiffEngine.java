@@ -0,0 +1,75 @@
+package org.example.membership.common.badge;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+
+/**
+ * 주문 집계 행과 배지 행을 (userId, categoryId) 오름차순의 두 정렬 스트림으로 받아
+ * merge-join 하면서 배지 변경분(userId, categoryId, newState)을 흘려보냅니다.
+ * 중첩 Map 이나 키 문자열 없이 두 커서만 전진하므로, 배지 행 수에 선형이고 추가 할당이 거의 없습니다.
+ *
+ * <pre>
+ * stats  : [userId, categoryId, orderCount, amount]
+ * badges : [userId, categoryId, active]
+ * </pre>
+ */
+public final class BadgeDiffEngine {
+
+    //배지 획득/유지 조건 (정책 각 카테고리 구매 횟수 5회 이상, 40만원 이상)
+    public static final long MIN_ORDER_COUNT = 5;
+    public static final BigDecimal MIN_AMOUNT = new BigDecimal("400000");
+
+    @FunctionalInterface
+    public interface ChangeSink {
+        void accept(long userId, long categoryId, boolean newState);
+    }
+
+    private BadgeDiffEngine() {
+    }
+
+    /**
+     * @return 변경 대상 건수
+     */
+    public static int diff(Iterator<Object[]> stats, Iterator<Object[]> badges, ChangeSink sink) {
+        Object[] stat = stats.hasNext() ? stats.next() : null;
+        int changes = 0;
+
+        while (badges.hasNext()) {
+            Object[] badge = badges.next();
+            long userId = ((Number) badge[0]).longValue();
+            long categoryId = ((Number) badge[1]).longValue();
+            boolean active = toBoolean(badge[2]);
+
+            // 통계 커서를 배지 키까지 전진 (배지가 없는 통계 행은 버림)
+            while (stat != null && compare(stat, userId, categoryId) < 0) {
+                stat = stats.hasNext() ? stats.next() : null;
+            }
+
+            boolean shouldBeActive = stat != null
+                    && compare(stat, userId, categoryId) == 0
+                    && shouldBeActive(((Number) stat[2]).longValue(), (BigDecimal) stat[3]);
+
+            //배지 변동이 필요한 경우
+            if (active != shouldBeActive) {
+                sink.accept(userId, categoryId, shouldBeActive);
+                changes++;
+            }
+        }
+        return changes;
+    }
+
+    public static boolean shouldBeActive(long orderCount, BigDecimal amount) {
+        return orderCount >= MIN_ORDER_COUNT && amount != null && amount.compareTo(MIN_AMOUNT) >= 0;
+    }
+
+    private static int compare(Object[] stat, long userId, long categoryId) {
+        int c = Long.compare(((Number) stat[0]).longValue(), userId);
+        return c != 0 ? c : Long.compare(((Number) stat[1]).longValue(), categoryId);
+    }
+
+    // 드라이버에 따라 BIT(1) 이 Boolean 또는 숫자로 올 수 있음
+    private static boolean toBoolean(Object value) {
+        if (value instanceof Boolean b) return b;
+        return ((Number) value).intValue() != 0;
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.membership.common.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.membership.entity.Category;
+import org.example.membership.entity.Coupon;
+import org.example.membership.entity.Product;
+import org.example.membership.repository.jpa.CategoryRepository;
+import org.example.membership.repository.jpa.CouponRepository;
+import org.example.membership.repository.jpa.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 카테고리 / 쿠폰 / 상품 기준 데이터 read-through 로컬 캐시.
+ *
+ * - 크기 상한과 TTL(write 기준)을 두고, 변경 시 invalidate + ReferenceDataInvalidator 로 다른 WAS 에 전파합니다.
+ * - 로더는 별도 읽기 전용 트랜잭션에서 실행되어, 캐시에 들어가는 엔티티는 항상 detached 상태입니다.
+ *   (호출자 영속성 컨텍스트에 묶이지 않음. 연관 엔티티 참조용으로만 쓰고 수정하지 말 것)
+ * - 쿠폰/상품은 category 를 fetch join 으로 함께 읽어 detached 상태에서도 category 접근이 가능합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataCache {
+
+    public enum Region { CATEGORY, COUPON, PRODUCT, ALL }
+
+    private static final String ALL_KEY = "all";
+
+    private final CategoryRepository categoryRepository;
+    private final CouponRepository couponRepository;
+    private final ProductRepository productRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${cache.reference-data.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${cache.reference-data.product-max-size:10000}")
+    private long productMaxSize;
+
+    private TransactionTemplate readOnlyTx;
+    private LoadingCache<String, List<Category>> categories;
+    private LoadingCache<String, Map<Long, Coupon>> couponsByCategoryId;
+    private LoadingCache<Long, Product> products;
+
+    @PostConstruct
+    void init() {
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        readOnlyTx.setReadOnly(true);
+
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        categories = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(ttl)
+                .build(k -> inReadOnlyTx(() -> List.copyOf(categoryRepository.findAll())));
+        couponsByCategoryId = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(ttl)
+                .build(k -> inReadOnlyTx(this::loadCouponsByCategoryId));
+        // 없는 상품은 캐시하지 않음 (로더가 null 반환 / loadAll 결과에서 빠짐)
+        products = Caffeine.newBuilder()
+                .maximumSize(productMaxSize)
+                .expireAfterWrite(ttl)
+                .build(new CacheLoader<>() {
+                    @Override
+                    public Product load(Long id) {
+                        return inReadOnlyTx(() -> productRepository.findWithCategoryById(id).orElse(null));
+                    }
+
+                    // getAll 의 미스 키는 IN 쿼리 1회로 적재
+                    @Override
+                    public Map<Long, Product> loadAll(Set<? extends Long> ids) {
+                        return inReadOnlyTx(() -> productRepository.findAllWithCategoryByIdIn(ids).stream()
+                                .collect(Collectors.toMap(Product::getId, p -> p)));
+                    }
+                });
+    }
+
+    public List<Category> categories() {
+        return categories.get(ALL_KEY);
+    }
+
+    // 카테고리당 쿠폰 1개 기준 (categoryId -> Coupon)
+    public Map<Long, Coupon> couponsByCategoryId() {
+        return couponsByCategoryId.get(ALL_KEY);
+    }
+
+    public Optional<Coupon> couponByCategoryId(Long categoryId) {
+        return Optional.ofNullable(couponsByCategoryId().get(categoryId));
+    }
+
+    // 쿠폰 수가 카테고리 수 이하라 id 조회는 값 순회로 충분
+    public Optional<Coupon> coupon(Long couponId) {
+        return couponsByCategoryId().values().stream()
+                .filter(c -> c.getId().equals(couponId))
+                .findFirst();
+    }
+
+    public Optional<Product> product(Long productId) {
+        return Optional.ofNullable(products.get(productId));
+    }
+
+    // 여러 상품을 한 번에 조회 (캐시 미스분만 IN 쿼리 1회). 없는 id 는 결과 Map 에 포함되지 않음
+    public Map<Long, Product> products(Collection<Long> productIds) {
+        return products.getAll(productIds);
+    }
+
+    public void invalidate(Region region) {
+        switch (region) {
+            case CATEGORY -> categories.invalidateAll();
+            case COUPON -> couponsByCategoryId.invalidateAll();
+            case PRODUCT -> products.invalidateAll();
+            case ALL -> {
+                categories.invalidateAll();
+                couponsByCategoryId.invalidateAll();
+                products.invalidateAll();
+            }
+        }
+        log.info("[기준 데이터 캐시] 무효화: {}", region);
+    }
+
+    private Map<Long, Coupon> loadCouponsByCategoryId() {
+        Map<Long, Coupon> map = new LinkedHashMap<>();
+        for (Coupon c : couponRepository.findAllWithCategory()) {
+            if (c.getCategory() != null) {
+                map.putIfAbsent(c.getCategory().getId(), c);
+            }
+        }
+        return Map.copyOf(map);
+    }
+
+    private <T> T inReadOnlyTx(Supplier<T> loader) {
+        return readOnlyTx.execute(status -> loader.get());
+    }
+}
@@ -2,9 +2,6 @@ package org.example.membership.common.concurrent;
 
 import org.springframework.stereotype.Component;
 
-import java.util.Collection;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 @Component
@@ -19,8 +16,8 @@ public class FlagManager {
     // 스케일아웃 인터럽트 플래그(정보 신호)
     private final AtomicBoolean scaleOutInterruptFlag = new AtomicBoolean(false);
 
-    // 배지 단위 충돌 방지 플래그
-    private final Set<String> badgeFlags = ConcurrentHashMap.newKeySet();
+    // 배지 배치 실행 중 신호 (클러스터 브로드캐스트로 ON/OFF)
+    private final AtomicBoolean badgeBatchRunning = new AtomicBoolean(false);
 
     // ===== 전역 API 게이트 =====
     public boolean isGlobalApiGateOn() { return globalApiGate.get(); }
@@ -37,27 +34,22 @@ public class FlagManager {
     public boolean isScaleOutInterrupted() { return scaleOutInterruptFlag.get(); }
     public void resetScaleOutInterruptFlag() { scaleOutInterruptFlag.set(false); }
 
-    // ===== 배지 단위 플래그 =====
-    public boolean addBadgeFlag(Long userId, Long categoryId) { return badgeFlags.add(key(userId, categoryId)); }
-    public void addBadgeFlags(Collection<String> keys) { badgeFlags.addAll(keys); }
-    public boolean isBadgeFlagged(Long userId, Long categoryId) { return badgeFlags.contains(key(userId, categoryId)); }
-    public void removeBadgeFlag(Long userId, Long categoryId) { badgeFlags.remove(key(userId, categoryId)); }
-
+    // ===== 배지 배치 실행 신호 =====
+    public boolean turnOnBadgeBatch() { return badgeBatchRunning.compareAndSet(false, true); }
+    public void turnOffBadgeBatch() { badgeBatchRunning.set(false); }
 
     public boolean isBadgeBatchRunning() {
-        return isBadgeFlagged(-1L, -1L);
+        return badgeBatchRunning.get();
     }
 
 
     // 재시작 시 휘발성만 정리
     public void clearTransientFlags() {
-        badgeFlags.clear();
+        badgeBatchRunning.set(false);
         scaleOutInterruptFlag.set(false);
     }
 
-    private String key(Long userId, Long categoryId) { return userId + ":" + categoryId; }
-
     public boolean isBatchRunning() {
-       return isBadgeFlagged(-1L, -1L);
+       return badgeBatchRunning.get();
     }
 }
@@ -0,0 +1,79 @@
+package org.example.membership.common.concurrent;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 동시 실행 수를 세마포어로 제한하는 ExecutorService 래퍼.
+ * 가상 스레드 executor 와 함께 쓰며, 제출은 막지 않고 작업 스레드가 실행 직전에 퍼밋을 기다립니다.
+ * (가상 스레드의 대기는 캐리어 스레드를 점유하지 않으므로 큐 역할을 세마포어가 대신합니다.)
+ */
+public final class SemaphoreBoundedExecutor extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+
+    public SemaphoreBoundedExecutor(ExecutorService delegate, int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                command.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    // 실행 중인 작업 수
+    public int active() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    // 퍼밋을 기다리는 작업 수 (고정 풀의 큐 대기 수에 해당)
+    public int waiting() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
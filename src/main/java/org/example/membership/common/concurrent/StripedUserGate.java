@@ -0,0 +1,125 @@
+package org.example.membership.common.concurrent;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * 유저 단위 쓰기 게이트 (프로세스 로컬, DB 접근 없음).
+ *
+ * - userId 해시로 고른 StampedLock 스트라이프 하나를 잠금 → 배치와 API 는 같은 스트라이프의 유저끼리만 직렬화
+ * - 키는 long 그대로 해시 (문자열/박싱 할당 없음)
+ * - API 수동 변경은 스트라이프 쓰기 락(배타)을 커밋까지 보유
+ * - 배치 적용은 한 페이지를 스트라이프 순으로 정렬해, 스트라이프 최대 applyGroupStripes 개짜리 소그룹으로 나눠 커밋
+ *   → 한 번에 잡는 스트라이프는 전체의 일부뿐이라, 관리자 변경은 자기 스트라이프를 가진 소그룹 커밋 하나만 기다림
+ *   → 병렬 파티션끼리는 공유 락이라 서로 막지 않고, 스트라이프 오름차순으로만 잡으므로 교착 없음
+ * - 경합 없는 흔한 경우는 tryReadLock 한 번으로 끝나고(파킹 없음), 관리자 변경이 진행 중인 스트라이프만 대기
+ *
+ * 다른 WAS 의 쓰기까지 막지는 않습니다. (WAS 간 정합성은 적용 UPDATE 의 updated_at < t0 조건이 담당)
+ */
+@Component
+public class StripedUserGate {
+
+    @Value("${user.gate.stripes:4096}")
+    private int configuredStripes;
+
+    @Value("${user.gate.apply-group-stripes:64}")
+    private int applyGroupStripes;
+
+    private StampedLock[] stripes;
+    private int mask;
+
+    @PostConstruct
+    void init() {
+        int n = 1;
+        while (n < configuredStripes) n <<= 1;
+        stripes = new StampedLock[n];
+        for (int i = 0; i < n; i++) {
+            stripes[i] = new StampedLock();
+        }
+        mask = n - 1;
+        applyGroupStripes = Math.max(1, applyGroupStripes);
+    }
+
+    // 한 유저에 대한 배타 쓰기 (API 수동 변경)
+    public <T> T write(long userId, Supplier<T> action) {
+        StampedLock lock = stripes[indexOf(userId)];
+        long stamp = lock.writeLock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 배치 적용: rows 를 스트라이프 오름차순으로 묶고, 스트라이프 applyGroupStripes 개 단위 소그룹마다
+     * 해당 스트라이프만 공유 잠금한 채 action(소그룹) 을 실행합니다. action 은 소그룹 1개를 커밋까지 끝내야 합니다.
+     */
+    public <T> void applyByStripeGroup(List<T> rows, ToLongFunction<T> userIdOf, Consumer<List<T>> action) {
+        if (rows.isEmpty()) return;
+
+        // (스트라이프 << 32 | 행 인덱스) 정렬 → 박싱 없이 스트라이프 순 정렬
+        long[] order = new long[rows.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = ((long) indexOf(userIdOf.applyAsLong(rows.get(i))) << 32) | i;
+        }
+        Arrays.sort(order);
+
+        int from = 0;
+        while (from < order.length) {
+            int[] groupStripes = new int[applyGroupStripes];
+            int stripeCount = 0;
+            List<T> group = new ArrayList<>();
+            int to = from;
+            for (; to < order.length; to++) {
+                int stripe = (int) (order[to] >>> 32);
+                if (stripeCount == 0 || groupStripes[stripeCount - 1] != stripe) {
+                    if (stripeCount == applyGroupStripes) break;
+                    groupStripes[stripeCount++] = stripe;
+                }
+                group.add(rows.get((int) order[to]));
+            }
+            applyLocked(groupStripes, stripeCount, () -> action.accept(group));
+            from = to;
+        }
+    }
+
+    // 오름차순 스트라이프를 공유 잠금: 경합 없으면 tryReadLock 으로 즉시, 쓰기 락이 잡혀 있을 때만 대기
+    private void applyLocked(int[] idx, int n, Runnable action) {
+        long[] stamps = new long[n];
+        int locked = 0;
+        try {
+            for (; locked < n; locked++) {
+                StampedLock lock = stripes[idx[locked]];
+                long stamp = lock.tryReadLock();
+                stamps[locked] = stamp != 0L ? stamp : lock.readLock();
+            }
+            action.run();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                stripes[idx[i]].unlockRead(stamps[i]);
+            }
+        }
+    }
+
+    private int indexOf(long userId) {
+        return (int) mix64(userId) & mask;
+    }
+
+    // SplitMix64 finalizer: 연속된 userId 도 스트라이프에 고르게 분산
+    private static long mix64(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.membership.common.util;
+
+/**
+ * (userId, categoryId) 를 long 하나로 packing 하는 배지 키.
+ * 상위 43비트 = userId, 하위 20비트 = categoryId (부호 비트는 항상 0)
+ * 키의 자연 정렬 순서가 (userId, categoryId) 정렬 순서와 같습니다.
+ */
+public final class BadgeKey {
+
+    private static final int CATEGORY_BITS = 20;
+    private static final long CATEGORY_MASK = (1L << CATEGORY_BITS) - 1;
+    private static final long MAX_USER_ID = (1L << (63 - CATEGORY_BITS)) - 1;
+
+    private BadgeKey() {
+    }
+
+    public static long of(long userId, long categoryId) {
+        if (userId < 0 || userId > MAX_USER_ID || categoryId < 0 || categoryId > CATEGORY_MASK) {
+            throw new IllegalArgumentException("Invalid badge key: " + userId + ":" + categoryId);
+        }
+        return (userId << CATEGORY_BITS) | categoryId;
+    }
+
+    public static long userId(long key) {
+        return key >>> CATEGORY_BITS;
+    }
+
+    public static long categoryId(long key) {
+        return key & CATEGORY_MASK;
+    }
+}
@@ -1,15 +1,27 @@
 package org.example.membership.common.util;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.membership.config.MyWasInstanceHolder;
 import org.example.membership.repository.jpa.WasInstanceRepository;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * 하트비트 + 로컬 멤버십 뷰 갱신.
+ *
+ * @Scheduled 공용 스케줄러가 아닌 전용 스레드에서 돕니다.
+ * 월말 배치(cron)·고아 재개·분산 대기처럼 오래 걸리는 스케줄 작업이 스레드를 잡고 있어도 하트비트가 멈추지 않아야
+ * 살아있는 리더가 "죽은 WAS" 로 판정되어 다른 WAS 에 인수되는 일이 없습니다.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -18,8 +30,38 @@ public class HeartbeatScheduler {
     private final WasInstanceRepository wasInstanceRepository;
     private final MyWasInstanceHolder myWasInstanceHolder;
 
-    @Transactional //안하면 save(was)하고 flush를 제어할 수 없어서 정합성이 깨질 수 있음.
-    @Scheduled(fixedRate = 10_000)//10초에 한 번씩 하트비트
+    @Value("${cluster.heartbeat.alive-threshold-seconds:30}")
+    private long aliveThresholdSeconds;
+
+    @Value("${cluster.heartbeat.interval-millis:10000}")
+    private long intervalMillis;
+
+    private ScheduledExecutorService heartbeatExecutor;
+
+    @PostConstruct
+    void start() {
+        heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "was-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        heartbeatExecutor.scheduleAtFixedRate(this::sendHeartbeatSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeatExecutor.shutdownNow();
+    }
+
+    // 예외가 밖으로 나가면 이후 실행이 취소되므로 여기서 삼킴
+    private void sendHeartbeatSafely() {
+        try {
+            sendHeartbeat();
+        } catch (Exception e) {
+            log.error("[Heartbeat] 실패", e);
+        }
+    }
+
     public void sendHeartbeat() {
 
         UUID myId = myWasInstanceHolder.getMyUuid();
@@ -28,9 +70,15 @@ public class HeartbeatScheduler {
             log.warn("[Heartbeat] UUID가 아직 초기화되지 않아 스킵합니다.");
             return;
         }
-        wasInstanceRepository.findById(myId).ifPresent(was -> {
-            was.updateHeartbeat();
-            wasInstanceRepository.save(was);
-        });
+
+        // 비교 기준(threshold)과 같은 WAS 시계를 쓰도록 NOW() 대신 바인딩 값으로 갱신
+        LocalDateTime now = LocalDateTime.now();
+        if (wasInstanceRepository.touchHeartbeat(myId, now) == 0) {
+            log.warn("[Heartbeat] 내 인스턴스 행이 없습니다. UUID: {}", myId);
+        }
+
+        // 틱마다 한 번만 살아있는 WAS 조회 → 로컬 멤버십 뷰 + 소유권 링 교체 (다른 곳은 이 뷰만 읽음)
+        myWasInstanceHolder.updateMembers(
+                wasInstanceRepository.findAliveInstances(now.minusSeconds(aliveThresholdSeconds)));
     }
 }
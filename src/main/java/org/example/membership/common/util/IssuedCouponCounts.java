@@ -0,0 +1,70 @@
+package org.example.membership.common.util;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * (userId, couponId) 별 기발급 수 조회 테이블.
+ * 키는 BadgeKey 와 같은 방식으로 packing 한 long (쿠폰은 카테고리당 1개라 id 가 20비트 안에 들어감)
+ * 정렬된 long[] 에서 이진 탐색하므로 문자열 키/박싱 없이 조회합니다.
+ */
+public final class IssuedCouponCounts {
+
+    private static final IssuedCouponCounts EMPTY = new IssuedCouponCounts(new long[0], new int[0]);
+
+    private final long[] keys;
+    private final int[] counts;
+
+    private IssuedCouponCounts(long[] keys, int[] counts) {
+        this.keys = keys;
+        this.counts = counts;
+    }
+
+    public static IssuedCouponCounts empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param rows [userId, couponId, count] 행 목록 ((userId, couponId) 오름차순이면 정렬을 생략)
+     */
+    public static IssuedCouponCounts fromRows(List<Object[]> rows) {
+        if (rows == null || rows.isEmpty()) return EMPTY;
+
+        int n = rows.size();
+        long[] keys = new long[n];
+        int[] counts = new int[n];
+        boolean sorted = true;
+        for (int i = 0; i < n; i++) {
+            Object[] r = rows.get(i);
+            keys[i] = BadgeKey.of(((Number) r[0]).longValue(), ((Number) r[1]).longValue());
+            counts[i] = ((Number) r[2]).intValue();
+            if (i > 0 && keys[i] < keys[i - 1]) sorted = false;
+        }
+        if (!sorted) {
+            sortByKey(keys, counts);
+        }
+        return new IssuedCouponCounts(keys, counts);
+    }
+
+    public int get(long userId, long couponId) {
+        int idx = Arrays.binarySearch(keys, BadgeKey.of(userId, couponId));
+        return idx >= 0 ? counts[idx] : 0;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    private static void sortByKey(long[] keys, int[] counts) {
+        Integer[] order = new Integer[keys.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Long.compare(keys[a], keys[b]));
+
+        long[] k = keys.clone();
+        int[] c = counts.clone();
+        for (int i = 0; i < order.length; i++) {
+            keys[i] = k[order[i]];
+            counts[i] = c[order[i]];
+        }
+    }
+}
@@ -24,4 +24,27 @@ public class PartitionUtils {
         }
         return result;
     }
+
+    /**
+     * [min, max] 정수 구간을 최대 parts 개의 연속 구간으로 균등 분할합니다.
+     *
+     * @return {start, end} (양끝 포함) 배열 목록, start 오름차순
+     */
+    public static List<long[]> splitRange(long min, long max, int parts) {
+        if (parts <= 0 || min > max) {
+            return Collections.emptyList();
+        }
+        long span = max - min + 1;
+        int count = (int) Math.min(parts, span);
+        long width = span / count;
+        long remainder = span % count;
+        List<long[]> result = new ArrayList<>(count);
+        long start = min;
+        for (int i = 0; i < count; i++) {
+            long end = start + width - 1 + (i < remainder ? 1 : 0);
+            result.add(new long[]{start, end});
+            start = end + 1;
+        }
+        return result;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package org.example.membership.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 배치 동시 실행 한도와, 그 한도에서 파생되는 파티션 수를 한곳에서 결정합니다.
+ *
+ * - 플랫폼 스레드 모드: 한도 = batchExecutorService 고정 풀 크기
+ * - 가상 스레드 모드  : 한도 = Hikari 최대 커넥션 수 - 예약분 (배치 작업은 대부분 JDBC 대기이므로 DB 커넥션이 실제 병목)
+ *
+ * 파티션 수 설정값이 0 이하이면 이 한도에서 파생합니다.
+ */
+@Component
+public class BatchConcurrency {
+
+    @Value("${batch.executor.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    @Value("${batch.executor.platform-threads:6}")
+    private int platformThreads;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int hikariMaximumPoolSize;
+
+    // 웹 요청, 하트비트, 배치 외곽 트랜잭션용으로 남겨둘 커넥션 수
+    @Value("${batch.executor.db-connection-reserve:10}")
+    private int dbConnectionReserve;
+
+    public boolean virtualThreads() {
+        return virtualThreads;
+    }
+
+    public int platformThreads() {
+        return platformThreads;
+    }
+
+    public int parallelism() {
+        if (!virtualThreads) return platformThreads;
+        return Math.max(1, hikariMaximumPoolSize - dbConnectionReserve);
+    }
+
+    // configured > 0 이면 그대로, 아니면 parallelism() * multiplier
+    public int partitions(int configured, int multiplier) {
+        return configured > 0 ? configured : parallelism() * multiplier;
+    }
+}
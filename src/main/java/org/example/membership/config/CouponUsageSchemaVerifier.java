@@ -0,0 +1,38 @@
+package org.example.membership.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.membership.repository.jpa.CouponUsageRepository;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 쿠폰 중복 사용 방지는 coupon_usage.coupon_issue_log_id 유니크 키(uk_coupon_usage_issue_log)에만 의존합니다.
+ * ddl-auto: update 는 기존 중복 행이 있으면 키 생성에 실패해도 기동을 계속하므로, 키가 없으면 여기서 기동을 중단합니다.
+ * (정리 스크립트: classpath:db/coupon_usage_unique_key.sql)
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class CouponUsageSchemaVerifier implements ApplicationRunner {
+
+    private static final List<String> EXPECTED_COLUMNS = List.of("coupon_issue_log_id");
+
+    private final CouponUsageRepository couponUsageRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> columns = couponUsageRepository.findIssueLogUniqueKeyColumns();
+        if (!EXPECTED_COLUMNS.equals(columns)) {
+            throw new IllegalStateException("coupon_usage 유니크 키 uk_coupon_usage_issue_log(coupon_issue_log_id) 가 없습니다."
+                    + " 현재 컬럼=" + columns + " → db/coupon_usage_unique_key.sql 로 중복 정리 후 키를 만들고 재기동하세요.");
+        }
+        log.info("coupon_usage 유니크 키 확인 완료: uk_coupon_usage_issue_log{}", columns);
+    }
+}
@@ -1,42 +1,86 @@
 package org.example.membership.config;
 
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
-import lombok.Setter;
-import org.example.membership.repository.jpa.WasInstanceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.example.membership.entity.WasInstance;
+import org.example.membership.infra.cluster.RendezvousRing;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 import java.util.UUID;
 
+/**
+ * 내 WAS id 와 로컬 클러스터 멤버십 뷰.
+ *
+ * 멤버십은 하트비트 틱마다 한 번 조회한 살아있는 WAS 목록으로 통째로 교체됩니다.
+ * 배치/알림 fan-out 등은 was_instance 를 직접 조회하지 않고 이 뷰를 읽습니다. (최대 하트비트 주기만큼 지연)
+ */
 @Getter
+@Slf4j
 @Component
 public class MyWasInstanceHolder {
 
     private UUID myUuid;
-    private int myIndex;
-    private int totalWases;
+
+    // 살아있는 WAS 하트비트로 재구성되는 유저 소유권 링 (교체만 하고 수정하지 않음)
+    private volatile RendezvousRing ring = RendezvousRing.EMPTY;
+
+    // 마지막 갱신 기준 살아있는 WAS (registeredAt 순, 불변 리스트)
+    private volatile List<WasInstance> aliveInstances = List.of();
+
+    // 마지막 갱신에서 멤버 구성이 바뀌었는지
+    private volatile boolean clusterChanged;
 
     public void setMyUuid(UUID uuid) {
         this.myUuid = uuid;
     }
 
-    public void setMyIndex(int index) {
-        this.myIndex = index;
+    /**
+     * 살아있는 WAS 목록으로 멤버십 뷰와 소유권 링을 갱신합니다. 구성이 같으면 기존 링을 유지합니다.
+     *
+     * @return 멤버 구성이 바뀌었으면 true
+     */
+    public boolean updateMembers(Collection<WasInstance> alive) {
+        aliveInstances = alive.stream()
+                .sorted(Comparator.comparing(WasInstance::getRegisteredAt))
+                .toList();
+
+        RendezvousRing next = RendezvousRing.of(aliveInstances.stream().map(WasInstance::getId).toList());
+        RendezvousRing prev = ring;
+        clusterChanged = !next.equals(prev);
+        if (clusterChanged) {
+            ring = next;
+            log.info("[클러스터] 소유권 링 갱신: {} → {}", prev.members(), next.members());
+        }
+        return clusterChanged;
     }
 
-    public void setTotalWases(int total) {
-        this.totalWases = total;
+    // 나를 제외한 살아있는 WAS (알림 fan-out 대상)
+    public List<WasInstance> getOthers() {
+        UUID me = myUuid;
+        return aliveInstances.stream()
+                .filter(w -> !w.getId().equals(me))
+                .toList();
+    }
+
+    public int getTotalWases() {
+        return ring.size();
+    }
+
+    public UUID ownerOf(long userId) {
+        return ring.ownerOf(userId);
     }
 
     public boolean isMyUser(Long userId) {
         if (userId == null) return true;
-        return userId % totalWases == myIndex;
+        UUID owner = ring.ownerOf(userId);
+        // 링이 아직 비어 있으면(등록 전) 단일 노드처럼 처리
+        return owner == null || owner.equals(myUuid);
     }
 
     public boolean isClusterChanged() {
-        // 예: 헬스 체크 감지 후 total 변화 확인 (추후 확장 가능)
-        return false;
+        return clusterChanged;
     }
 }
-
@@ -1,5 +1,11 @@
 package org.example.membership.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.example.membership.common.concurrent.SemaphoreBoundedExecutor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -8,17 +14,49 @@ import java.util.concurrent.Executors;
 
 @Configuration
 public class ThreadPoolConfig {
-    @Bean
-    public ExecutorService executorService() {
-        return Executors.newFixedThreadPool(10);
-    }
 
+    // 배치 청크/파티션 작업
+    // 가상 스레드 모드: 작업당 가상 스레드 + Hikari 풀 크기 기반 세마포어로 동시 실행 수 제한
     @Bean("batchExecutorService")
-    public ExecutorService batchExecutorService() {
-        return Executors.newFixedThreadPool(6, r -> {
+    public ExecutorService batchExecutorService(BatchConcurrency batchConcurrency) {
+        if (batchConcurrency.virtualThreads()) {
+            return new SemaphoreBoundedExecutor(newVirtualThreadPerTaskExecutor(), batchConcurrency.parallelism());
+        }
+        return Executors.newFixedThreadPool(batchConcurrency.platformThreads(), r -> {
             Thread t = new Thread(r, "batch-chunk-");
             t.setDaemon(true);
             return t;
         });
     }
-}
\ No newline at end of file
+
+    // 배치 풀 게이지 (executor.queued = 큐 대기 작업 수, executor.active, executor.pool.size 등)
+    // 래핑하지 않고 바인딩만 하므로 주입받는 쪽은 그대로 ThreadPoolExecutor 를 사용
+    // 가상 스레드 모드에서는 세마포어 대기/실행 수를 같은 의미의 게이지로 노출
+    @Bean
+    public MeterBinder batchExecutorServiceMetrics(@Qualifier("batchExecutorService") ExecutorService batchExecutorService) {
+        if (batchExecutorService instanceof SemaphoreBoundedExecutor bounded) {
+            return registry -> {
+                Tags tags = Tags.of("name", "batchExecutorService");
+                Gauge.builder("executor.queued", bounded, SemaphoreBoundedExecutor::waiting)
+                        .description("퍼밋을 기다리는 배치 작업 수").tags(tags).register(registry);
+                Gauge.builder("executor.active", bounded, SemaphoreBoundedExecutor::active)
+                        .description("실행 중인 배치 작업 수").tags(tags).register(registry);
+                Gauge.builder("executor.pool.max", bounded, SemaphoreBoundedExecutor::maxConcurrency)
+                        .description("배치 동시 실행 한도").tags(tags).register(registry);
+            };
+        }
+        return new ExecutorServiceMetrics(batchExecutorService, "batchExecutorService", Tags.empty());
+    }
+
+    // 소스/타깃은 Java 17 유지: JDK 21 런타임(-Pjdk21)에서만 존재하는 API 라 리플렉션으로 호출
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(
+                    "batch.executor.virtual-threads=true 는 JDK 21 이상이 필요합니다. (./gradlew bootRun -Pjdk21)", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드 executor 생성 실패", e);
+        }
+    }
+}
@@ -6,13 +6,13 @@ import org.example.membership.config.MyWasInstanceHolder;
 import org.example.membership.entity.WasInstance;
 import org.example.membership.infra.cluster.ScaleOutNotifier;
 import org.example.membership.repository.jpa.WasInstanceRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Component;
 
 import java.net.InetAddress;
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,6 +25,9 @@ import java.util.UUID;
     private final MyWasInstanceHolder myWasInstanceHolder;
     private final ScaleOutNotifier scaleOutNotifier;
 
+    @Value("${cluster.heartbeat.alive-threshold-seconds:30}")
+    private long aliveThresholdSeconds;
+
     @Override
     public void run(ApplicationArguments args) throws Exception {
         String ip = InetAddress.getLocalHost().getHostAddress();
@@ -45,31 +48,17 @@ import java.util.UUID;
         wasInstanceRepository.save(instance);
         log.info("내 WAS 인스턴스 등록 완료. UUID: {}", uuid);
 
-        // 2. 전체 활성 인스턴스 조회 후 등록 시간순으로 정렬
-        LocalDateTime threshold = LocalDateTime.now().minusSeconds(30);
-        List<WasInstance> aliveInstances = wasInstanceRepository.findAliveInstances(threshold)
-                .stream()
-                .sorted(Comparator.comparing(WasInstance::getRegisteredAt))
-                .toList();
-
-        // 3. 내 인덱스 계산
-        int myIndex = -1;
-        for (int i = 0; i < aliveInstances.size(); i++) {
-            if (aliveInstances.get(i).getId().equals(uuid)) {
-                myIndex = i;
-                break;
-            }
-        }
+        // 2. 내 정보 메모리에 보관 후, 살아있는 인스턴스로 소유권 링 구성 (이후 하트비트마다 재구성)
+        myWasInstanceHolder.setMyUuid(uuid);
+        LocalDateTime threshold = LocalDateTime.now().minusSeconds(aliveThresholdSeconds);
+        List<WasInstance> alive = wasInstanceRepository.findAliveInstances(threshold);
 
-        if (myIndex == -1) {
+        if (alive.stream().noneMatch(w -> w.getId().equals(uuid))) {
             throw new IllegalStateException("등록한 내 인스턴스를 활성 인스턴스 목록에서 찾지 못했습니다.");
         }
 
-        // 4. 내 정보 메모리에 보관
-        myWasInstanceHolder.setMyUuid(uuid);
-        myWasInstanceHolder.setMyIndex(myIndex);
-        myWasInstanceHolder.setTotalWases(aliveInstances.size());
-        log.info("내 WAS 인덱스 계산 완료. Index: {} / Total: {}", myIndex, aliveInstances.size());
+        myWasInstanceHolder.updateMembers(alive);
+        log.info("소유권 링 구성 완료. Total: {}", alive.size());
 
         /*Legacy 이제 스케일 아웃 감지 불필요*/
 //        // 5. 다른 인스턴스에게 Scale-out 알림 전송
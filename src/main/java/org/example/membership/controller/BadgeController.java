@@ -2,6 +2,7 @@ package org.example.membership.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.example.membership.common.concurrent.FlagManager;
+import org.example.membership.common.concurrent.StripedUserGate;
 import org.example.membership.dto.BadgeActivationRequest;
 import org.example.membership.dto.ManualBadgeUpdateRequest;
 import org.example.membership.service.jpa.JpaBadgeService;
@@ -18,6 +19,7 @@ public class BadgeController {
     private final JpaBadgeService jpaBadgeService;
     // private final FlagManager flagManager; // 배치 플래그 의존성 제거
     private final MyWasInstanceHolder myWasInstanceHolder;
+    private final StripedUserGate userGate;
 
     /*
      * LEGACY: 이 엔드포인트는 스냅샷 배치 아키텍처 도입으로 인해 더 이상 사용되지 않습니다.
@@ -46,11 +48,12 @@ public class BadgeController {
 //                    .body("This request should be handled by another WAS instance.");
 //        }
 
-        jpaBadgeService.changeBadgeActivation(
+        // 트랜잭션 커밋까지 유저 게이트 안에서 실행 (같은 스트라이프의 배치 적용 소그룹과만 직렬화)
+        userGate.write(request.getUserId(), () -> jpaBadgeService.changeBadgeActivation(
                 request.getUserId(),
                 request.getCategoryId(),
                 request.isActive()
-        );
+        ));
         return ResponseEntity.ok("OK");
     }
 
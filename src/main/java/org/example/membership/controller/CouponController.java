@@ -1,18 +1,22 @@
 package org.example.membership.controller;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.example.membership.common.web.NdjsonResponses;
 import org.example.membership.dto.CouponIssueLogDto;
+import org.example.membership.dto.CursorPage;
 import org.example.membership.dto.ManualCouponIssueRequest;
 import org.example.membership.entity.CouponIssueLog;
 import org.example.membership.entity.User;
 import org.example.membership.service.jpa.JpaCouponService;
 import org.example.membership.config.MyWasInstanceHolder;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -21,6 +25,7 @@ public class CouponController {
 
     private final JpaCouponService jpaCouponService;
     private final MyWasInstanceHolder myWasInstanceHolder;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/issue")
     public ResponseEntity<?> issue(@RequestBody ManualCouponIssueRequest request) {
@@ -43,9 +48,20 @@ public class CouponController {
     }
 
 
+    // 유저 발급 이력 id 키셋 페이지: 첫 페이지는 afterId 생략, 이후 응답 nextCursor 를 afterId 로
     @GetMapping("/user/{userId}")
-    public List<CouponIssueLog> getUserCoupons(@PathVariable Long userId) {
-        return jpaCouponService.getIssuedCouponsByUser(userId);
+    public CursorPage<CouponIssueLogDto, String> getUserCoupons(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String afterId,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return jpaCouponService.getIssuedCouponsByUser(userId, afterId, CursorPage.clampSize(size));
+    }
+
+    // 유저 발급 이력 NDJSON 스트리밍
+    @GetMapping(value = "/user/{userId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUserCoupons(@PathVariable Long userId) {
+        return NdjsonResponses.<CouponIssueLogDto>stream(objectMapper,
+                sink -> jpaCouponService.streamIssuedCouponsByUser(userId, sink));
     }
 
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package org.example.membership.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.example.membership.common.enums.OrderStatus;
+import org.example.membership.common.web.NdjsonResponses;
+import org.example.membership.dto.CursorPage;
 import org.example.membership.dto.OrderCreateRequest;
 import org.example.membership.dto.OrderRequest;
 import org.example.membership.dto.OrderResponse;
@@ -9,8 +12,10 @@ import org.example.membership.entity.Order;
 import org.example.membership.service.jpa.JpaOrderService;
 import org.example.membership.config.MyWasInstanceHolder;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -21,6 +26,7 @@ public class OrderController {
 
     private final JpaOrderService jpaOrderService;
     private final MyWasInstanceHolder myWasInstanceHolder;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<?> createOrder(@RequestBody OrderCreateRequest order) {
@@ -34,13 +40,22 @@ public class OrderController {
 
 
     @GetMapping("/{id}")
-    public Order getOrder(@PathVariable Long id) {
-        return jpaOrderService.getOrderById(id);
+    public OrderResponse getOrder(@PathVariable Long id) {
+        return jpaOrderService.getOrderResponse(id);
     }
 
+    // id 키셋 페이지: GET /orders?afterId=0&size=100 → 응답 nextCursor 를 다음 afterId 로
     @GetMapping
-    public List<Order> getAllOrders() {
-        return jpaOrderService.getAllOrders();
+    public CursorPage<OrderResponse, Long> getOrders(
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return jpaOrderService.getOrdersAfter(afterId, CursorPage.clampSize(size));
+    }
+
+    // 전체 주문 NDJSON 스트리밍 (한 줄 = 주문 요약 1건, 메모리 사용량은 행 수와 무관)
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamOrders() {
+        return NdjsonResponses.stream(objectMapper, jpaOrderService::streamAllOrders);
     }
 
     @PatchMapping("/{id}/status")
@@ -2,6 +2,7 @@ package org.example.membership.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.example.membership.batch.SnapshotBatchOrchestrator;
+import org.example.membership.service.jpa.JpaOrderService;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -16,6 +17,7 @@ import java.util.Map;
 public class SnapshotBatchController {
 
     private final SnapshotBatchOrchestrator snapshotOrchestrator;
+    private final JpaOrderService jpaOrderService;
 
     /**
      * 스냅샷 기반의 전체 멤버십 배치를 실행합니다.
@@ -31,4 +33,13 @@ public class SnapshotBatchController {
 
         snapshotOrchestrator.runFullBatch(targetDate, batchSize);
     }
+
+    /**
+     * 주문 원본으로 월별 사전 집계(user_category_monthly_stats)를 재구성합니다.
+     * JDBC 대량 적재 직후처럼 증분 반영을 거치지 않은 주문이 있을 때 사용합니다.
+     */
+    @PostMapping("/rebuild-order-stats")
+    public int rebuildOrderStats() {
+        return jpaOrderService.rebuildMonthlyStats();
+    }
 }
@@ -1,15 +1,21 @@
 package org.example.membership.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.example.membership.common.enums.MembershipLevel;
+import org.example.membership.common.web.NdjsonResponses;
 import org.example.membership.dto.*;
 import org.example.membership.entity.MembershipLog;
 import org.example.membership.entity.User;
 import org.example.membership.service.jpa.JpaMembershipService;
 import org.example.membership.config.MyWasInstanceHolder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -20,20 +26,47 @@ public class UserController {
 
     private final JpaMembershipService jpaMembershipService;
     private final MyWasInstanceHolder myWasInstanceHolder;
+    private final ObjectMapper objectMapper;
+
+    // 대량 온보딩 1회 요청 최대 유저 수 (한 트랜잭션으로 처리)
+    @Value("${user.bulk-create.max-users:50000}")
+    private int bulkCreateMaxUsers;
 
     @PostMapping
     public User createUser(@RequestBody CreateUserRequest request) {
         return jpaMembershipService.createUser(request);
     }
 
+    // 대량 온보딩: 유저 + 배지 스켈레톤을 JDBC 배치 INSERT 로 생성하고 처리량을 응답
+    @PostMapping("/bulk")
+    public BulkCreateUserResponse bulkCreateUsers(@RequestBody List<CreateUserRequest> requests) {
+        if (requests.isEmpty() || requests.size() > bulkCreateMaxUsers) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "요청 유저 수는 1~" + bulkCreateMaxUsers + " 명이어야 합니다.");
+        }
+        if (requests.stream().anyMatch(r -> r.getName() == null || r.getName().isBlank())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "이름은 필수입니다.");
+        }
+        return jpaMembershipService.bulkCreateUsers(requests);
+    }
+
+    // id 키셋 페이지: GET /users?afterId=0&size=100 → 응답 nextCursor 를 다음 afterId 로
     @GetMapping
-    public List<User> getAllUsers() {
-        return jpaMembershipService.getAllUsers();
+    public CursorPage<UserResponse, Long> getUsers(
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return jpaMembershipService.getUsersAfter(afterId, CursorPage.clampSize(size));
+    }
+
+    // 전체 유저 NDJSON 스트리밍 (한 줄 = UserResponse 1건, 메모리 사용량은 행 수와 무관)
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUsers() {
+        return NdjsonResponses.stream(objectMapper, jpaMembershipService::streamAllUsers);
     }
 
     @GetMapping("/{id}")
-    public User getUserById(@PathVariable Long id) {
-        return jpaMembershipService.getUserById(id);
+    public UserResponse getUserById(@PathVariable Long id) {
+        return jpaMembershipService.getUserResponse(id);
     }
 
     @GetMapping("/name/{name}")
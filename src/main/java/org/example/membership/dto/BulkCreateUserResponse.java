@@ -0,0 +1,17 @@
+package org.example.membership.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class BulkCreateUserResponse {
+
+    private int userCount;          // 생성된 유저 수
+    private int badgeCount;         // 생성된 배지 스켈레톤 수
+    private List<Long> userIds;     // 요청 순서와 같은 순서의 생성 id
+    private long elapsedMillis;     // 서비스 처리 시간 (트랜잭션 포함)
+    private double usersPerSecond;  // 처리량
+}
@@ -0,0 +1,24 @@
+package org.example.membership.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 키셋(id 커서) 페이지 응답.
+ * nextCursor 를 다음 요청의 afterId 로 넘기며, null 이면 마지막 페이지입니다.
+ */
+public record CursorPage<T, C>(List<T> items, C nextCursor) {
+
+    public static final int DEFAULT_SIZE = 100;
+    public static final int MAX_SIZE = 1000;
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    // size 만큼 채워졌으면 마지막 항목의 커서를, 아니면 null(마지막 페이지)
+    public static <T, C> CursorPage<T, C> of(List<T> items, int size, Function<T, C> cursorOf) {
+        C next = items.size() < size ? null : cursorOf.apply(items.get(items.size() - 1));
+        return new CursorPage<>(items, next);
+    }
+}
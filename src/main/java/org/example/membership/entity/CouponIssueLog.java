@@ -12,7 +12,10 @@ import com.github.f4b6a3.uuid.UuidCreator;
 import org.example.membership.common.util.ShardPrefixedUuidGenerator;
 import org.example.membership.common.util.ShardUuidGenerator;
 @Entity
-@Table(name = "coupon_issue_log")
+@Table(name = "coupon_issue_log", indexes = {
+        @Index(name = "idx_coupon_issue_log_user_coupon", columnList = "user_id, coupon_id"),
+        @Index(name = "idx_coupon_issue_log_user_id", columnList = "user_id, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
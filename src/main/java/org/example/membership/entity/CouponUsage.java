@@ -9,7 +9,10 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "coupon_usage")
+// 발급 1건당 사용 1회: 중복 사용은 DB 유니크 키로 거절
+@Table(name = "coupon_usage", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_coupon_usage_issue_log", columnNames = "coupon_issue_log_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,46 @@
+package org.example.membership.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 유저/카테고리/월 단위 PAID 주문 사전 집계.
+ * 주문 생성·상태 변경·삭제 시 JpaOrderService 가 증분(upsert)으로 유지하며,
+ * 배치 읽기 단계는 주문 원본 4중 조인 대신 이 테이블의 월 버킷만 합산합니다.
+ */
+@Entity
+@Table(name = "user_category_monthly_stats",
+        uniqueConstraints = @UniqueConstraint(name = "uk_ucms_user_category_month",
+                columnNames = {"user_id", "category_id", "stat_month"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserCategoryMonthlyStat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    // 해당 월 1일
+    @Column(name = "stat_month", nullable = false)
+    private LocalDate statMonth;
+
+    // 주문 항목 수 (기존 집계 쿼리의 COUNT 와 동일 기준)
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    // SUM(item_price * quantity - 쿠폰 할인액)
+    @Column(name = "net_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal netAmount = BigDecimal.ZERO;
+}
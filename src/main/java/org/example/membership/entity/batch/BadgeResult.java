@@ -18,7 +18,8 @@ import java.util.UUID;
 @Table(
         name = "badge_results",
         indexes = {
-                @Index(name = "idx_badge_results_exec_status_id", columnList = "execution_id, status, id")
+                @Index(name = "idx_badge_results_exec_status_id", columnList = "execution_id, status, id"),
+                @Index(name = "idx_badge_results_exec_user", columnList = "execution_id, user_id")
         }
 )
 public class BadgeResult {
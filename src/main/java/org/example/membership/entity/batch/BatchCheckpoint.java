@@ -0,0 +1,51 @@
+package org.example.membership.entity.batch;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 스냅샷 배치 재개 지점: (실행, 단계)마다 마지막으로 커밋된 키셋 커서와 단계 완료 여부.
+ * 리더가 죽으면 새 리더가 이 값을 읽어 완료된 단계는 건너뛰고, 진행 중이던 단계는 커서 다음 페이지부터 이어갑니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(
+        name = "batch_checkpoint",
+        uniqueConstraints = @UniqueConstraint(name = "uk_batch_checkpoint_exec_phase",
+                columnNames = {"execution_id", "phase"})
+)
+public class BatchCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @JdbcTypeCode(org.hibernate.type.SqlTypes.BINARY)
+    @Column(name = "execution_id", columnDefinition = "BINARY(16)", nullable = false)
+    private UUID executionId;
+
+    // BatchMetrics.Phase 이름
+    @Column(nullable = false, length = 32)
+    private String phase;
+
+    // 결과 적용 단계(Phase 2/4): 마지막으로 커밋된 badge_results / level_results id
+    @JdbcTypeCode(org.hibernate.type.SqlTypes.BINARY)
+    @Column(name = "after_result_id", columnDefinition = "BINARY(16)")
+    private UUID afterResultId;
+
+    // 유저 페이지 단계(스트리밍 Phase 3/5): 마지막으로 커밋된 페이지의 끝 유저 id
+    @Column(name = "after_user_id")
+    private Long afterUserId;
+
+    @Column(nullable = false)
+    private boolean completed;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
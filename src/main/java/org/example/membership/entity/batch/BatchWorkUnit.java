@@ -0,0 +1,84 @@
+package org.example.membership.entity.batch;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * [분산 모드] 리더가 발행하고 모든 WAS 가 SELECT ... FOR UPDATE SKIP LOCKED 로 가져가는 유저 id 구간 작업 단위.
+ * 워커가 배치 실행 컨텍스트를 따로 조회하지 않도록 실행 파라미터를 함께 저장합니다.
+ */
+@Entity
+@Table(
+        name = "batch_work_unit",
+        indexes = {
+                @Index(name = "idx_batch_work_unit_status_id", columnList = "status, id"),
+                @Index(name = "idx_batch_work_unit_exec_status", columnList = "execution_id, status")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchWorkUnit {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @JdbcTypeCode(org.hibernate.type.SqlTypes.BINARY)
+    @Column(name = "execution_id", columnDefinition = "BINARY(16)", nullable = false)
+    private UUID executionId;
+
+    @Column(nullable = false)
+    private LocalDate targetDate;
+
+    @Column(nullable = false)
+    private LocalDateTime cutoffAt;
+
+    // 조건부 UPDATE 기준 시각 (리더의 t0)
+    @Column(nullable = false)
+    private LocalDateTime batchStartAt;
+
+    @Column(nullable = false)
+    private int batchSize;
+
+    @Column(nullable = false)
+    private Long userIdStart;
+
+    @Column(nullable = false)
+    private Long userIdEnd;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    // 가져간 WAS (하트비트가 끊기면 리더가 PENDING 으로 되돌림)
+    @JdbcTypeCode(org.hibernate.type.SqlTypes.BINARY)
+    @Column(name = "claimed_by", columnDefinition = "BINARY(16)")
+    private UUID claimedBy;
+
+    private LocalDateTime claimedAt;
+
+    private LocalDateTime completedAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    public void claim(UUID wasId) {
+        this.status = Status.CLAIMED;
+        this.claimedBy = wasId;
+        this.claimedAt = LocalDateTime.now();
+        this.attempts++;
+    }
+
+    public enum Status {
+        PENDING, CLAIMED, DONE, FAILED
+    }
+}
@@ -16,7 +16,8 @@ import java.util.UUID;
 @Table(
         name = "level_results",
         indexes = {
-                @Index(name = "idx_level_results_exec_status_id", columnList = "execution_id, status, id")
+                @Index(name = "idx_level_results_exec_status_id", columnList = "execution_id, status, id"),
+                @Index(name = "idx_level_results_exec_user", columnList = "execution_id, user_id")
         }
 )
 @Getter
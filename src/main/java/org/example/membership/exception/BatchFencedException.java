@@ -0,0 +1,10 @@
+package org.example.membership.exception;
+
+import java.util.UUID;
+
+// 실행 소유권(batch_execution_log.was_id) 또는 분산 작업 단위 점유(batch_work_unit.claimed_by)를 다른 WAS 가 가져가 이 WAS 의 쓰기를 중단해야 할 때
+public class BatchFencedException extends RuntimeException {
+    public BatchFencedException(UUID executionId) {
+        super("배치 실행 소유권을 잃었습니다. executionId=" + executionId);
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.membership.infra.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.membership.entity.WasInstance;
+import org.example.membership.infra.cluster.dto.ScaleOutAckResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * WAS 간 내부 RPC 클라이언트 (POST + ScaleOutAckResponse 응답 규약).
+ *
+ * - JDK HttpClient 1개를 공유 → 피어별 HTTP/1.1 keep-alive 커넥션 풀 재사용
+ * - 호출마다 응답 타임아웃, 연결/타임아웃/5xx(ACK 본문 없음) 실패만 지수 백오프로 재시도
+ * - sendAsync 로 논블로킹 fan-out, 전체 fan-out 에는 별도 데드라인 적용 (죽은 피어가 호출 스레드를 붙잡지 않음)
+ * - NACK(ack=false) 은 피어의 명시적 거절이므로 재시도하지 않음
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ClusterRpcClient {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${cluster.rpc.connect-timeout-millis:1000}")
+    private long connectTimeoutMillis;
+
+    @Value("${cluster.rpc.request-timeout-millis:3000}")
+    private long requestTimeoutMillis;
+
+    @Value("${cluster.rpc.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${cluster.rpc.backoff-millis:200}")
+    private long backoffMillis;
+
+    @Value("${cluster.rpc.broadcast-deadline-millis:15000}")
+    private long broadcastDeadlineMillis;
+
+    private HttpClient httpClient;
+
+    @PostConstruct
+    void init() {
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .build();
+    }
+
+    /**
+     * 모든 피어에 동시에 POST 하고 전부 ACK 될 때까지 (최대 broadcast-deadline) 대기합니다.
+     * 하나라도 실패/데드라인 초과면 failMsg 로 예외를 던집니다.
+     */
+    public void broadcast(List<WasInstance> peers, String path, String failMsg) throws Exception {
+        if (peers.isEmpty()) return;
+
+        CompletableFuture<?>[] futures = peers.stream()
+                .map(was -> post(was, path))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(futures)
+                    .orTimeout(broadcastDeadlineMillis, TimeUnit.MILLISECONDS)
+                    .join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() instanceof TimeoutException
+                    ? new TimeoutException("fan-out 데드라인 초과: " + broadcastDeadlineMillis + "ms")
+                    : e.getCause();
+            throw new RuntimeException(failMsg, cause);
+        }
+    }
+
+    // 단일 피어 호출 (재시도 포함), ACK 시 응답 본문으로 완료
+    public CompletableFuture<ScaleOutAckResponse> post(WasInstance was, String path) {
+        URI uri = URI.create("http://" + was.getIp() + ":" + was.getPort() + path);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(requestTimeoutMillis))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        return attempt(request, 1);
+    }
+
+    private CompletableFuture<ScaleOutAckResponse> attempt(HttpRequest request, int attempt) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> toAck(request.uri(), response))
+                .handle((ack, error) -> {
+                    if (error == null) {
+                        log.info("알림 성공: {} - {}", request.uri(), ack.message());
+                        return CompletableFuture.completedFuture(ack);
+                    }
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (!isRetryable(cause) || attempt >= maxAttempts) {
+                        log.error("알림 실패: {} ({}회 시도) - {}", request.uri(), attempt, cause.getMessage());
+                        return CompletableFuture.<ScaleOutAckResponse>failedFuture(
+                                new RuntimeException("알림 실패: " + request.uri(), cause));
+                    }
+                    long delay = backoffMillis << (attempt - 1);
+                    log.warn("알림 재시도: {} ({}회 실패, {}ms 후) - {}", request.uri(), attempt, delay, cause.getMessage());
+                    return CompletableFuture.supplyAsync(() -> null,
+                                    CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+                            .thenCompose(ignored -> attempt(request, attempt + 1));
+                })
+                .thenCompose(f -> f);
+    }
+
+    private ScaleOutAckResponse toAck(URI uri, HttpResponse<String> response) {
+        ScaleOutAckResponse body = parse(response.body());
+        if (body != null && body.ack()) {
+            return body;
+        }
+        if (body != null) {
+            throw new NackException("NACK: " + body.message());
+        }
+        if (response.statusCode() >= 500) {
+            throw new CompletionException(new IOException("HTTP " + response.statusCode() + " (응답 없음): " + uri));
+        }
+        throw new NackException("HTTP " + response.statusCode() + " (응답 없음)");
+    }
+
+    private ScaleOutAckResponse parse(String body) {
+        if (body == null || body.isBlank()) return null;
+        try {
+            return objectMapper.readValue(body, ScaleOutAckResponse.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // 연결 실패/타임아웃(HttpTimeoutException 포함)/5xx 만 재시도
+    private static boolean isRetryable(Throwable cause) {
+        return cause instanceof IOException;
+    }
+
+    // 피어가 명시적으로 거절한 경우 (재시도 대상 아님)
+    static class NackException extends RuntimeException {
+        NackException(String message) {
+            super(message);
+        }
+    }
+}
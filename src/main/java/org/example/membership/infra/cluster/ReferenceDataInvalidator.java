@@ -0,0 +1,28 @@
+package org.example.membership.infra.cluster;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.membership.common.cache.ReferenceDataCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기준 데이터 변경 시 내 캐시를 비우고, 살아있는 다른 WAS 에도 내부 HTTP 로 무효화를 전파합니다.
+ * 전파 실패는 로그만 남깁니다. (받지 못한 인스턴스도 TTL 이 지나면 다시 읽음)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataInvalidator {
+
+    private final ReferenceDataCache referenceDataCache;
+    private final ScaleOutNotifier notifier;
+
+    public void invalidateAndBroadcast(ReferenceDataCache.Region region) {
+        referenceDataCache.invalidate(region);
+        try {
+            notifier.notifyReferenceDataInvalidateToOthers(region.name());
+        } catch (Exception e) {
+            log.warn("[기준 데이터 캐시] 무효화 전파 실패 region={} (TTL 만료로 수렴)", region, e);
+        }
+    }
+}
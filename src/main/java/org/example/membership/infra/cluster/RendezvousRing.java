@@ -0,0 +1,89 @@
+package org.example.membership.infra.cluster;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 살아있는 WAS 목록으로 만든 유저 소유권 스냅샷 (rendezvous / HRW 해싱, 불변 객체).
+ *
+ * - 유저마다 (WAS, userId) 점수가 가장 높은 WAS 가 소유자 → 모든 노드가 같은 멤버 목록이면 같은 결과
+ * - WAS 가 추가되면 새 WAS 가 최고 점수가 된 유저(~1/N)만 옮겨가고, 빠지면 그 WAS 의 유저만 재분배됨
+ *   (userId % total 방식은 멤버 수가 바뀌면 대부분의 유저가 재매핑됨)
+ * - 멤버 수가 작으므로 조회는 멤버 수만큼의 해시 계산(O(N)), 별도 가상 노드 테이블이 필요 없음
+ */
+public final class RendezvousRing {
+
+    public static final RendezvousRing EMPTY = new RendezvousRing(List.of());
+
+    private final List<UUID> members;
+    private final long[] seeds;
+
+    private RendezvousRing(List<UUID> members) {
+        this.members = members;
+        this.seeds = new long[members.size()];
+        for (int i = 0; i < seeds.length; i++) {
+            UUID id = members.get(i);
+            seeds[i] = mix64(id.getMostSignificantBits() ^ Long.rotateLeft(id.getLeastSignificantBits(), 32));
+        }
+    }
+
+    // 입력 순서와 무관하도록 정렬 후 생성 (노드마다 조회 순서가 달라도 같은 링)
+    public static RendezvousRing of(Collection<UUID> members) {
+        if (members.isEmpty()) return EMPTY;
+        return new RendezvousRing(members.stream().distinct().sorted().toList());
+    }
+
+    public List<UUID> members() {
+        return members;
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    public boolean contains(UUID member) {
+        return members.contains(member);
+    }
+
+    /**
+     * userId 의 소유 WAS. 멤버가 없으면 null.
+     */
+    public UUID ownerOf(long userId) {
+        if (seeds.length == 0) return null;
+        long key = mix64(userId);
+        int best = 0;
+        long bestScore = mix64(seeds[0] ^ key);
+        for (int i = 1; i < seeds.length; i++) {
+            long score = mix64(seeds[i] ^ key);
+            if (Long.compareUnsigned(score, bestScore) > 0) {
+                best = i;
+                bestScore = score;
+            }
+        }
+        return members.get(best);
+    }
+
+    // SplitMix64 finalizer: 인접한 userId / UUID 도 고르게 흩어지도록
+    private static long mix64(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof RendezvousRing other && members.equals(other.members);
+    }
+
+    @Override
+    public int hashCode() {
+        return members.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "RendezvousRing" + members;
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.membership.infra.cluster.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.membership.common.cache.ReferenceDataCache;
+import org.example.membership.infra.cluster.ReferenceDataInvalidator;
+import org.example.membership.infra.cluster.dto.ScaleOutAckResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataCacheController {
+
+    private final ReferenceDataCache referenceDataCache;
+    private final ReferenceDataInvalidator referenceDataInvalidator;
+
+    // 기준 데이터 캐시 무효화
+    // - 다른 WAS 의 전파 수신: broadcast=false (기본값, 재전파하지 않음)
+    // - 운영자가 직접 호출: broadcast=true 면 다른 WAS 에도 전파
+    @PostMapping("/internal/cache/reference-data/invalidate")
+    public ResponseEntity<ScaleOutAckResponse> invalidate(
+            @RequestParam(defaultValue = "ALL") ReferenceDataCache.Region region,
+            @RequestParam(defaultValue = "false") boolean broadcast) {
+        try {
+            if (broadcast) {
+                referenceDataInvalidator.invalidateAndBroadcast(region);
+            } else {
+                referenceDataCache.invalidate(region);
+            }
+            return ResponseEntity.ok(new ScaleOutAckResponse(true, "기준 데이터 캐시 무효화 완료: " + region));
+        } catch (Exception e) {
+            log.error("[기준 데이터 캐시 무효화 실패] region={}", region, e);
+            return ResponseEntity.internalServerError()
+                    .body(new ScaleOutAckResponse(false, "기준 데이터 캐시 무효화 실패: " + e.getMessage()));
+        }
+    }
+}
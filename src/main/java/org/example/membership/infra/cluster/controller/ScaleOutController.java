@@ -21,8 +21,8 @@ public class ScaleOutController {
     @PostMapping("/internal/batch/badge-flag/off")
     public ResponseEntity<ScaleOutAckResponse> badgeFlagOff() {
         try {
-            flagManager.removeBadgeFlag(-1L, -1L);
-            log.info("[배지 배치] 플래그 해제 수신(-1:-1)");
+            flagManager.turnOffBadgeBatch();
+            log.info("[배지 배치] 플래그 해제 수신");
             return ResponseEntity.ok(new ScaleOutAckResponse(true, "배지 플래그 해제 완료"));
         } catch (Exception e) {
             log.error("[배지 플래그 해제 실패]", e);
@@ -35,8 +35,8 @@ public class ScaleOutController {
     @PostMapping("/internal/batch/badge-flag/on")
     public ResponseEntity<ScaleOutAckResponse> badgeFlagOn() {
         try {
-            flagManager.addBadgeFlag(-1L, -1L);
-            log.info("[배지 배치] 플래그 설정 수신(-1:-1)");
+            flagManager.turnOnBadgeBatch();
+            log.info("[배지 배치] 플래그 설정 수신");
             return ResponseEntity.ok(new ScaleOutAckResponse(true, "배지 플래그 설정 완료"));
         } catch (Exception e) {
             log.error("[배지 플래그 설정 실패]", e);
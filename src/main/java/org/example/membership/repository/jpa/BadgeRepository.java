@@ -1,12 +1,15 @@
 package org.example.membership.repository.jpa;
 
 
+import jakarta.persistence.QueryHint;
 import org.example.membership.entity.Badge;
 import org.example.membership.entity.Category;
 import org.example.membership.entity.User;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -15,9 +18,10 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface BadgeRepository extends JpaRepository<Badge, Long> {
+public interface BadgeRepository extends JpaRepository<Badge, Long>, BadgeRepositoryCustom {
     boolean existsByUserAndCategory(User user, Category category);
 
     long countByUser(User user);
@@ -59,38 +63,37 @@ public interface BadgeRepository extends JpaRepository<Badge, Long> {
             """)
     List<String> findKeysByUserIdRange(@Param("start") Long start, @Param("end") Long end);
 
+    /**
+     * 유저 id 구간의 배지 상태만 가볍게 조회 (엔티티/프록시 생성 없음)
+     *
+     * @return [userId, categoryId, active] 형태, (userId, categoryId) 오름차순
+     */
+    @Query("""
+            SELECT b.user.id, b.category.id, b.active
+            FROM Badge b
+            WHERE b.user.id BETWEEN :startUserId AND :endUserId
+            ORDER BY b.user.id, b.category.id
+            """)
+    List<Object[]> findStatesByUserIdRange(@Param("startUserId") long startUserId,
+                                           @Param("endUserId") long endUserId);
+
+    /**
+     * 전체 배지 상태를 (userId, categoryId) 순으로 한 행씩 스트리밍 (MySQL: fetchSize=Integer.MIN_VALUE)
+     * 반드시 트랜잭션 안에서 try-with-resources 로 소비해야 합니다.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("""
+            SELECT b.user.id, b.category.id, b.active
+            FROM Badge b
+            ORDER BY b.user.id, b.category.id
+            """)
+    Stream<Object[]> streamAllStates();
+
 
     Optional<Badge> findByUserId(Long userId);
 
     List<Badge> findByUserIdIn(List<Long> userIds);
 
-    /**
-     * T0 시점의 활성 배지 개수를 재구성하여 계산하는 쿼리
-     *
-     * @param userIds        대상 사용자 ID 목록
-     * @param batchStartTime 배치 시작 시간 (T0)
-     * @return [userId, activeBadgeCount] 형태의 Object 배열 리스트
-     */
-    @Query(value = """
-                SELECT
-                    b.user_id,
-                    COUNT(b.id)
-                FROM
-                    badges b
-                LEFT JOIN
-                    badge_log bl ON b.id = bl.badge_id AND bl.changed_at >= :batchStartTime
-                WHERE
-                    b.user_id IN :userIds
-                    AND (CASE
-                            WHEN bl.id IS NOT NULL THEN bl.previous_active_status
-                            ELSE b.active
-                        END) = TRUE
-                GROUP BY
-                    b.user_id
-            """, nativeQuery = true)
-    List<Object[]> countActiveBadgesAsOfT0(@Param("userIds") List<Long> userIds,
-                                           @Param("batchStartTime") LocalDateTime batchStartTime);
-
     @Modifying
     @Query("UPDATE Badge b SET b.active = :newState, b.updatedAt = CURRENT_TIMESTAMP " +
             "WHERE b.user.id = :userId AND b.category.id = :categoryId " +
@@ -101,6 +104,8 @@ public interface BadgeRepository extends JpaRepository<Badge, Long> {
                                       @Param("batchStartTime") LocalDateTime batchStartTime);
 
 
+    // t0 이후에 바뀐 배지(관리자 수동 변경 등)는 건너뜀 → 스냅샷 결과가 더 최신 변경을 덮어쓰지 않음
+    // t0·Badge.activate() 와 같은 WAS 시계로 비교하도록 updated_at 은 NOW() 대신 바인딩 값, NULL 은 변경 이력 없음으로 적용
     @Modifying
     @Query(value = """
             UPDATE badges b
@@ -110,9 +115,12 @@ public interface BadgeRepository extends JpaRepository<Badge, Long> {
               WHERE id IN (:ids)
             ) r ON r.user_id = b.user_id AND r.category_id = b.category_id
             SET b.active = r.new_state,
-                b.updated_at = NOW()
+                b.updated_at = :now
+            WHERE b.updated_at IS NULL OR b.updated_at < :batchStartTime
             """, nativeQuery = true)
-    int applyFromResults(@Param("ids") List<UUID> ids);
+    int applyFromResults(@Param("ids") List<UUID> ids,
+                         @Param("batchStartTime") LocalDateTime batchStartTime,
+                         @Param("now") LocalDateTime now);
 
     @Query(value = """
             SELECT user_id, COUNT(*) AS cnt
@@ -0,0 +1,15 @@
+package org.example.membership.repository.jpa;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BadgeRepositoryCustom {
+
+    /**
+     * 유저 x 카테고리 조합마다 비활성 배지 스켈레톤을 JDBC 배치 INSERT 로 생성합니다.
+     * (FastDataGenerationService.generateBadgeSkeletons 와 같은 방식, 호출자 트랜잭션에 참여)
+     *
+     * @return 삽입한 배지 행 수
+     */
+    int insertSkeletons(Collection<Long> userIds, List<Long> categoryIds, int batchSize);
+}
@@ -0,0 +1,39 @@
+package org.example.membership.repository.jpa;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// BadgeRepository 의 커스텀 조각: 호출자 트랜잭션의 커넥션을 JdbcTemplate 으로 그대로 사용
+@RequiredArgsConstructor
+public class BadgeRepositoryImpl implements BadgeRepositoryCustom {
+
+    private static final String INSERT_SKELETON =
+            "INSERT INTO badges (user_id, category_id, active, updated_at) VALUES (?, ?, false, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertSkeletons(Collection<Long> userIds, List<Long> categoryIds, int batchSize) {
+        if (userIds.isEmpty() || categoryIds.isEmpty()) return 0;
+
+        List<long[]> rows = new ArrayList<>(userIds.size() * categoryIds.size());
+        for (Long userId : userIds) {
+            for (Long categoryId : categoryIds) {
+                rows.add(new long[]{userId, categoryId});
+            }
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SKELETON, rows, batchSize, (ps, row) -> {
+            ps.setLong(1, row[0]);
+            ps.setLong(2, row[1]);
+            ps.setTimestamp(3, now);
+        });
+        return rows.size();
+    }
+}
@@ -1,13 +1,21 @@
 package org.example.membership.repository.jpa;
 
+import jakarta.persistence.QueryHint;
 import org.example.membership.entity.Coupon;
 import org.example.membership.entity.CouponIssueLog;
 import org.example.membership.entity.User;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface CouponIssueLogRepository extends JpaRepository<CouponIssueLog, String> {
@@ -15,4 +23,44 @@ public interface CouponIssueLogRepository extends JpaRepository<CouponIssueLog,
     int countByUserAndCoupon(User user, Coupon coupon);
 
     List<CouponIssueLog> findAllByUserIn(List<User> users);
+
+    /**
+     * 주어진 유저들의 (userId, couponId) 별 기발급 수 (엔티티 로딩 없이 SQL 에서 GROUP BY)
+     *
+     * @return [userId, couponId, count], (userId, couponId) 오름차순
+     */
+    @Query("""
+            SELECT l.user.id, l.coupon.id, COUNT(l)
+            FROM CouponIssueLog l
+            WHERE l.user.id IN :userIds
+            GROUP BY l.user.id, l.coupon.id
+            ORDER BY l.user.id, l.coupon.id
+            """)
+    List<Object[]> countIssuedByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    // [목록 API] 유저의 발급 이력 키셋 페이지 행: [id, userId, couponId, membershipLevel, issuedAt]
+    // afterId 가 null 이면 첫 페이지 (idx_coupon_issue_log_user_id 사용)
+    @Query("""
+            SELECT l.id, l.user.id, l.coupon.id, l.membershipLevel, l.issuedAt
+            FROM CouponIssueLog l
+            WHERE l.user.id = :userId
+              AND (:afterId IS NULL OR l.id > :afterId)
+            ORDER BY l.id ASC
+            """)
+    List<Object[]> findRowsByUserAfterId(@Param("userId") Long userId,
+                                         @Param("afterId") String afterId,
+                                         Pageable pageable);
+
+    /**
+     * [목록 API/NDJSON] 유저의 발급 이력을 id 순으로 한 행씩 스트리밍 (MySQL: fetchSize=Integer.MIN_VALUE, forward-only)
+     * 반드시 트랜잭션 안에서 try-with-resources 로 소비해야 합니다.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("""
+            SELECT l.id, l.user.id, l.coupon.id, l.membershipLevel, l.issuedAt
+            FROM CouponIssueLog l
+            WHERE l.user.id = :userId
+            ORDER BY l.id ASC
+            """)
+    Stream<Object[]> streamRowsByUser(@Param("userId") Long userId);
 }
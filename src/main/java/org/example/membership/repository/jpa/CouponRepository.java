@@ -3,8 +3,10 @@ package org.example.membership.repository.jpa;
 import org.example.membership.entity.Category;
 import org.example.membership.entity.Coupon;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +15,8 @@ public interface CouponRepository extends JpaRepository<Coupon, Long> {
     Optional<Coupon> findByCategory(Category category);
     Optional<Coupon> findByCode(String code);
 
+    // 기준 데이터 캐시 적재용 (detached 상태에서도 category 접근 가능하도록 fetch join)
+    @Query("SELECT c FROM Coupon c LEFT JOIN FETCH c.category ORDER BY c.id")
+    List<Coupon> findAllWithCategory();
+
 }
\ No newline at end of file
@@ -2,12 +2,22 @@ package org.example.membership.repository.jpa;
 
 import org.example.membership.entity.CouponUsage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface CouponUsageRepository extends JpaRepository<CouponUsage, Long> {
-    boolean existsByCouponIssueLog_Id(String couponIssueLogId);
-}
-
-
 
+    // 기동 시 스키마 확인: 중복 사용을 막는 유니크 키의 컬럼 목록 (키가 없으면 빈 목록)
+    @Query(value = """
+            SELECT column_name FROM information_schema.statistics
+            WHERE table_schema = DATABASE()
+              AND table_name = 'coupon_usage'
+              AND index_name = 'uk_coupon_usage_issue_log'
+              AND non_unique = 0
+            ORDER BY seq_in_index
+            """, nativeQuery = true)
+    List<String> findIssueLogUniqueKeyColumns();
+}
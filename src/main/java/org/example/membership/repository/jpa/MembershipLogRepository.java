@@ -2,8 +2,34 @@ package org.example.membership.repository.jpa;
 
 import org.example.membership.entity.MembershipLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
 @Repository
 public interface MembershipLogRepository extends JpaRepository<MembershipLog, Long> {
-}
\ No newline at end of file
+
+    /**
+     * [Set 기반 레벨 적용] users UPDATE 직전에 호출해 변경 전 등급을 previous_level 로 남깁니다.
+     * 조건은 UserRepository.applyLevelsFromResults 의 가드와 동일해야 합니다.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO membership_log (user_id, previous_level, new_level, change_reason, changed_at)
+            SELECT u.id, u.membership_level, r.new_level, :reason, :now
+            FROM level_results r
+            JOIN users u ON u.id = r.user_id
+            WHERE r.id IN (:resultIds)
+              AND (u.last_membership_change IS NULL OR u.last_membership_change < :batchStartTime)
+              AND u.membership_level <> r.new_level
+            """, nativeQuery = true)
+    int insertFromLevelResults(@Param("resultIds") List<UUID> resultIds,
+                               @Param("batchStartTime") LocalDateTime batchStartTime,
+                               @Param("reason") String reason,
+                               @Param("now") LocalDateTime now);
+}
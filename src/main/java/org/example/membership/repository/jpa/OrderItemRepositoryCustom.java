@@ -0,0 +1,14 @@
+package org.example.membership.repository.jpa;
+
+import org.example.membership.entity.OrderItem;
+
+import java.util.List;
+
+public interface OrderItemRepositoryCustom {
+
+    /**
+     * 한 주문의 항목들을 multi-row INSERT 1회로 저장합니다. (IDENTITY 키라 Hibernate 배치가 꺼지는 것을 우회)
+     * 영속성 컨텍스트를 거치지 않으므로 items 의 id 는 채워지지 않습니다.
+     */
+    int insertAll(Long orderId, List<OrderItem> items);
+}
@@ -0,0 +1,34 @@
+package org.example.membership.repository.jpa;
+
+import lombok.RequiredArgsConstructor;
+import org.example.membership.entity.OrderItem;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// OrderItemRepository 의 커스텀 조각: 호출자 트랜잭션의 커넥션을 JdbcTemplate 으로 그대로 사용
+@RequiredArgsConstructor
+public class OrderItemRepositoryImpl implements OrderItemRepositoryCustom {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO order_items (order_id, product_id, quantity, item_price) VALUES ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertAll(Long orderId, List<OrderItem> items) {
+        if (items.isEmpty()) return 0;
+
+        String sql = INSERT_PREFIX + String.join(", ", Collections.nCopies(items.size(), "(?, ?, ?, ?)"));
+        List<Object> args = new ArrayList<>(items.size() * 4);
+        for (OrderItem item : items) {
+            args.add(orderId);
+            args.add(item.getProduct().getId());
+            args.add(item.getQuantity());
+            args.add(item.getItemPrice());
+        }
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+}
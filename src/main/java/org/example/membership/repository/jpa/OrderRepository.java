@@ -1,15 +1,20 @@
 package org.example.membership.repository.jpa;
 
 
+import jakarta.persistence.QueryHint;
 import org.example.membership.common.enums.OrderStatus;
 import org.example.membership.entity.Order;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
@@ -74,12 +79,63 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
         GROUP BY
             o.user_id,
             p.category_id
+        ORDER BY
+            o.user_id,
+            p.category_id
     """,
             nativeQuery = true
     )
-// 반환 타입이 Object 배열인 것은 동일
+// 반환 타입이 Object 배열인 것은 동일 (배지 merge-join 을 위해 user_id, category_id 정렬)
     List<Object[]> aggregateUserCategoryStats(
             @Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end
     );
-}
\ No newline at end of file
+
+    // [목록 API] 키셋 페이지 행: [id, userId, totalAmount, status, orderedAt]
+    @Query("""
+            SELECT o.id, o.user.id, o.totalAmount, o.status, o.orderedAt
+            FROM Order o
+            WHERE o.id > :afterId
+            ORDER BY o.id ASC
+            """)
+    List<Object[]> findRowsAfterId(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * [목록 API/NDJSON] 전체 주문을 id 순으로 한 행씩 스트리밍 (MySQL: fetchSize=Integer.MIN_VALUE, forward-only)
+     * 반드시 트랜잭션 안에서 try-with-resources 로 소비해야 합니다.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("""
+            SELECT o.id, o.user.id, o.totalAmount, o.status, o.orderedAt
+            FROM Order o
+            ORDER BY o.id ASC
+            """)
+    Stream<Object[]> streamAllRows();
+
+    /**
+     * [단건 API] 주문 상세를 항목·상품명·쿠폰 할인까지 한 번에 조회 (엔티티/지연 로딩 없음)
+     * 항목 1건당 1행이며, 항목이 없는 주문은 항목 컬럼이 null 인 1행입니다.
+     *
+     * @return [id, userId, status, orderedAt, totalAmount, discountAmount, productId, productName, quantity, itemPrice]
+     */
+    @Query("""
+            SELECT o.id, o.user.id, o.status, o.orderedAt, o.totalAmount, c.discountAmount,
+                   p.id, p.name, oi.quantity, oi.itemPrice
+            FROM Order o
+            LEFT JOIN OrderItem oi ON oi.order = o
+            LEFT JOIN oi.product p
+            LEFT JOIN CouponUsage cu ON cu.order = o
+            LEFT JOIN cu.coupon c
+            WHERE o.id = :orderId
+            ORDER BY oi.id ASC
+            """)
+    List<Object[]> findDetailRowsById(@Param("orderId") long orderId);
+
+    /**
+     * 주문 전체(마지막 gap 포함)를 PK 순서로 공유 잠금합니다. (통계 재구성 트랜잭션 전용)
+     * 주문 쓰기는 주문 행 → 통계 버킷 순서로 잠그므로, 재구성도 주문을 먼저 잠가야 진행 중인 주문이 끝난 뒤에 읽고
+     * 재구성 중에는 새 주문/상태 변경이 대기합니다.
+     */
+    @Query(value = "SELECT COUNT(o.ordered_at) FROM orders o FORCE INDEX (PRIMARY) FOR SHARE", nativeQuery = true)
+    long lockAllForShare();
+}
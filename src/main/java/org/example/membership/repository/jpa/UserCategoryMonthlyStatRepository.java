@@ -0,0 +1,85 @@
+package org.example.membership.repository.jpa;
+
+import org.example.membership.entity.UserCategoryMonthlyStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface UserCategoryMonthlyStatRepository extends JpaRepository<UserCategoryMonthlyStat, Long> {
+
+    // 증분 반영: 버킷이 없으면 생성, 있으면 원자적으로 더함 (취소/삭제는 음수 delta)
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_category_monthly_stats (user_id, category_id, stat_month, order_count, net_amount)
+            VALUES (:userId, :categoryId, :statMonth, :countDelta, :amountDelta) AS new
+            ON DUPLICATE KEY UPDATE
+                order_count = order_count + new.order_count,
+                net_amount  = net_amount + new.net_amount
+            """, nativeQuery = true)
+    int upsertDelta(@Param("userId") long userId,
+                    @Param("categoryId") long categoryId,
+                    @Param("statMonth") LocalDate statMonth,
+                    @Param("countDelta") long countDelta,
+                    @Param("amountDelta") BigDecimal amountDelta);
+
+    /**
+     * [startMonth, endMonth) 월 버킷 합산
+     *
+     * @return [userId, categoryId, orderCount, amount], (userId, categoryId) 오름차순
+     */
+    @Query(value = """
+            SELECT user_id, category_id, SUM(order_count), SUM(net_amount)
+            FROM user_category_monthly_stats
+            WHERE stat_month >= :startMonth
+              AND stat_month <  :endMonth
+            GROUP BY user_id, category_id
+            HAVING SUM(order_count) > 0
+            ORDER BY user_id, category_id
+            """, nativeQuery = true)
+    List<Object[]> sumByMonths(@Param("startMonth") LocalDate startMonth,
+                               @Param("endMonth") LocalDate endMonth);
+
+    @Query(value = """
+            SELECT user_id, category_id, SUM(order_count), SUM(net_amount)
+            FROM user_category_monthly_stats
+            WHERE stat_month >= :startMonth
+              AND stat_month <  :endMonth
+              AND user_id BETWEEN :startUserId AND :endUserId
+            GROUP BY user_id, category_id
+            HAVING SUM(order_count) > 0
+            ORDER BY user_id, category_id
+            """, nativeQuery = true)
+    List<Object[]> sumByMonthsAndUserRange(@Param("startMonth") LocalDate startMonth,
+                                           @Param("endMonth") LocalDate endMonth,
+                                           @Param("startUserId") long startUserId,
+                                           @Param("endUserId") long endUserId);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_category_monthly_stats", nativeQuery = true)
+    int deleteAllStats();
+
+    // JDBC 대량 적재 등 서비스 계층을 거치지 않은 주문을 반영하기 위한 전체 재구성
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_category_monthly_stats (user_id, category_id, stat_month, order_count, net_amount)
+            SELECT o.user_id,
+                   p.category_id,
+                   DATE_FORMAT(o.ordered_at, '%Y-%m-01'),
+                   COUNT(o.id),
+                   SUM(oi.item_price * oi.quantity - IFNULL(c.discount_amount, 0))
+            FROM orders o
+            JOIN order_items oi ON o.id = oi.order_id
+            JOIN products p ON oi.product_id = p.id
+            LEFT JOIN coupons c ON o.coupon_id = c.id
+            WHERE o.status = 'PAID'
+            GROUP BY o.user_id, p.category_id, DATE_FORMAT(o.ordered_at, '%Y-%m-01')
+            """, nativeQuery = true)
+    int rebuildFromOrders();
+}
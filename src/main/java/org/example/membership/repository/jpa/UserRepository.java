@@ -1,19 +1,25 @@
 package org.example.membership.repository.jpa;
 
+import jakarta.persistence.QueryHint;
 import org.example.membership.common.enums.MembershipLevel;
 import org.example.membership.entity.User;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
     List<User> findByMembershipLevel(MembershipLevel level);
 
@@ -32,6 +38,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
 """)
     List<User> findUsersInRange(@Param("startId") long startId, @Param("endId") long endId);
 
+    // 키셋 페이지: afterId < id <= endId 구간에서 pageable.size 만큼 (offset 미사용)
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId AND u.id <= :endId ORDER BY u.id ASC")
+    List<Long> findIdsAfter(@Param("afterId") long afterId, @Param("endId") long endId, Pageable pageable);
+
+    @Query("SELECT u FROM User u WHERE u.id > :afterId AND u.id <= :endId ORDER BY u.id ASC")
+    List<User> findPageAfterId(@Param("afterId") long afterId, @Param("endId") long endId, Pageable pageable);
+
 
     @Modifying
     @Query("UPDATE User u SET u.membershipLevel = :newLevel, u.lastMembershipChange = CURRENT_TIMESTAMP " +
@@ -39,4 +52,80 @@ public interface UserRepository extends JpaRepository<User, Long> {
     int updateUserLevelConditionally(@Param("userId") Long userId,
                                      @Param("newLevel") MembershipLevel newLevel,
                                      @Param("batchStartTime") LocalDateTime batchStartTime);
-}
\ No newline at end of file
+
+    /**
+     * [Set 기반 레벨 적용] 결과 id 목록이 가리키는 유저 행을 id 순서로 먼저 잠급니다.
+     * 로그 INSERT ... SELECT 와 UPDATE 사이에 API 변경이 끼어들지 않도록 하기 위함입니다.
+     */
+    @Query(value = """
+            SELECT u.id
+            FROM users u
+            JOIN level_results r ON r.user_id = u.id
+            WHERE r.id IN (:resultIds)
+            ORDER BY u.id
+            FOR UPDATE
+            """, nativeQuery = true)
+    List<Long> lockUsersForLevelResults(@Param("resultIds") List<UUID> resultIds);
+
+    /**
+     * [Set 기반 레벨 적용] level_results 조인 UPDATE.
+     * 기존 applyLevelChunkManaged 와 같은 가드: T0 이후 변경된 유저와 등급이 같은 유저는 건너뜀
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE users u
+            JOIN level_results r ON r.user_id = u.id
+            SET u.membership_level = r.new_level,
+                u.last_membership_change = :now
+            WHERE r.id IN (:resultIds)
+              AND (u.last_membership_change IS NULL OR u.last_membership_change < :batchStartTime)
+              AND u.membership_level <> r.new_level
+            """, nativeQuery = true)
+    int applyLevelsFromResults(@Param("resultIds") List<UUID> resultIds,
+                               @Param("batchStartTime") LocalDateTime batchStartTime,
+                               @Param("now") LocalDateTime now);
+
+    // [목록 API] 키셋 페이지 행: [id, name, membershipLevel, lastMembershipChange, createdAt]
+    @Query("""
+            SELECT u.id, u.name, u.membershipLevel, u.lastMembershipChange, u.createdAt
+            FROM User u
+            WHERE u.id > :afterId
+            ORDER BY u.id ASC
+            """)
+    List<Object[]> findRowsAfterId(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * [목록 API/NDJSON] 전체 유저를 id 순으로 한 행씩 스트리밍 (MySQL: fetchSize=Integer.MIN_VALUE, forward-only)
+     * 반드시 트랜잭션 안에서 try-with-resources 로 소비해야 합니다.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("""
+            SELECT u.id, u.name, u.membershipLevel, u.lastMembershipChange, u.createdAt
+            FROM User u
+            ORDER BY u.id ASC
+            """)
+    Stream<Object[]> streamAllRows();
+
+    // [단건 API] 유저 행: [id, name, membershipLevel, lastMembershipChange, createdAt] (membershipLogs 미로딩)
+    @Query("""
+            SELECT u.id, u.name, u.membershipLevel, u.lastMembershipChange, u.createdAt
+            FROM User u
+            WHERE u.id = :id
+            """)
+    List<Object[]> findRowById(@Param("id") long id);
+
+    /**
+     * [단건 API] 유저 등급 + 보유 배지 카테고리명을 한 번에 조회 (배지별 카테고리 지연 로딩 없음)
+     *
+     * @return [userId, membershipLevel, categoryName] 형태, 배지가 없으면 categoryName 이 null 인 1행
+     */
+    @Query("""
+            SELECT u.id, u.membershipLevel, c.name
+            FROM User u
+            LEFT JOIN Badge b ON b.user = u
+            LEFT JOIN b.category c
+            WHERE u.id = :userId
+            ORDER BY c.id ASC
+            """)
+    List<Object[]> findStatusRowsById(@Param("userId") long userId);
+}
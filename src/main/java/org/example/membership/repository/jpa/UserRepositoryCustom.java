@@ -0,0 +1,15 @@
+package org.example.membership.repository.jpa;
+
+import org.example.membership.entity.User;
+
+import java.util.List;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * 유저들을 JDBC 배치 INSERT 로 저장하고 생성된 id 를 입력 순서대로 반환합니다.
+     * (rewriteBatchedStatements=true 에서 multi-row INSERT 로 재작성, IDENTITY 키라 Hibernate 배치가 꺼지는 것을 우회)
+     * 영속성 컨텍스트를 거치지 않으므로 users 의 id 는 채워지지 않습니다.
+     */
+    List<Long> insertAll(List<User> users, int batchSize);
+}
@@ -0,0 +1,60 @@
+package org.example.membership.repository.jpa;
+
+import lombok.RequiredArgsConstructor;
+import org.example.membership.entity.User;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// UserRepository 의 커스텀 조각: 호출자 트랜잭션의 커넥션을 JdbcTemplate 으로 그대로 사용
+@RequiredArgsConstructor
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (name, membership_level, created_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> insertAll(List<User> users, int batchSize) {
+        List<Long> ids = new ArrayList<>(users.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < users.size(); from += batchSize) {
+            List<User> slice = users.subList(from, Math.min(from + batchSize, users.size()));
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    con -> con.prepareStatement(INSERT_USER, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            User user = slice.get(i);
+                            ps.setString(1, user.getName());
+                            ps.setString(2, user.getMembershipLevel().name());
+                            ps.setTimestamp(3, user.getCreatedAt() != null
+                                    ? Timestamp.valueOf(user.getCreatedAt()) : now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return slice.size();
+                        }
+                    },
+                    keys);
+            // MySQL 드라이버는 키 컬럼명이 GENERATED_KEY 이므로 이름 대신 첫 값 사용
+            for (Map<String, Object> key : keys.getKeyList()) {
+                ids.add(((Number) key.values().iterator().next()).longValue());
+            }
+        }
+        return ids;
+    }
+}
@@ -2,8 +2,10 @@ package org.example.membership.repository.jpa;
 
 import org.example.membership.entity.WasInstance;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,6 +23,12 @@ public interface WasInstanceRepository extends JpaRepository<WasInstance, UUID>
     @Query("SELECT COUNT(w) FROM WasInstance w WHERE w.lastHeartbeatAt >= :threshold")
     long countAliveInstances(@Param("threshold") LocalDateTime threshold);
 
+    // 하트비트: 엔티티 로드/merge 없이 단일 UPDATE (0 이면 내 행이 사라진 것)
+    // 전용 하트비트 스레드에서 서비스 트랜잭션 없이 호출되므로 자체 트랜잭션으로 커밋
+    @Transactional
+    @Modifying
+    @Query("UPDATE WasInstance w SET w.lastHeartbeatAt = :now WHERE w.id = :id")
+    int touchHeartbeat(@Param("id") UUID id, @Param("now") LocalDateTime now);
 
 
 }
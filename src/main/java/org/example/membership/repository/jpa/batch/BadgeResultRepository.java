@@ -24,6 +24,32 @@ public interface BadgeResultRepository extends JpaRepository<BadgeResult, UUID>
                                             @Param("afterId") UUID afterId,
                                             @Param("limit") int limit);
 
+    // 파티션 분할용: PENDING 결과의 유저 id 범위 [min, max]
+    @Query(value = """
+    SELECT MIN(user_id), MAX(user_id)
+    FROM badge_results
+    WHERE execution_id = :exec
+      AND status = 'PENDING'
+    """, nativeQuery = true)
+    List<Object[]> findPendingUserIdBounds(@Param("exec") UUID exec);
+
+    // 유저 id 구간 [startUserId, endUserId] 안에서만 id 키셋 페이지
+    @Query(value = """
+    SELECT id, execution_id, user_id, category_id, new_state, status, applied_at
+    FROM badge_results
+    WHERE execution_id = :exec
+      AND status = 'PENDING'
+      AND user_id BETWEEN :startUserId AND :endUserId
+      AND (:afterId IS NULL OR id > :afterId)
+    ORDER BY id
+    LIMIT :limit
+    """, nativeQuery = true)
+    List<BadgeResult> findPendingInUserRangeAfterId(@Param("exec") UUID exec,
+                                                    @Param("startUserId") long startUserId,
+                                                    @Param("endUserId") long endUserId,
+                                                    @Param("afterId") UUID afterId,
+                                                    @Param("limit") int limit);
+
     @Modifying
     @Query(value = """
     UPDATE badge_results
@@ -32,6 +58,8 @@ public interface BadgeResultRepository extends JpaRepository<BadgeResult, UUID>
     """, nativeQuery = true)
     int markApplied(@Param("ids") List<UUID> ids);
 
+    // [재개] 미완료 산출 단계의 부분 결과 삭제
+    @Modifying
+    @Query(value = "DELETE FROM badge_results WHERE execution_id = :exec", nativeQuery = true)
+    int deleteByExecution(@Param("exec") UUID exec);
 }
-
-
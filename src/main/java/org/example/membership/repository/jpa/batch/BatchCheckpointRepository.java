@@ -0,0 +1,38 @@
+package org.example.membership.repository.jpa.batch;
+
+import org.example.membership.entity.batch.BatchCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface BatchCheckpointRepository extends JpaRepository<BatchCheckpoint, Long> {
+
+    Optional<BatchCheckpoint> findByExecutionIdAndPhase(UUID executionId, String phase);
+
+    // 커서 upsert (단계 완료 여부는 건드리지 않음)
+    @Modifying
+    @Query(value = """
+            INSERT INTO batch_checkpoint (execution_id, phase, after_result_id, after_user_id, completed, updated_at)
+            VALUES (:exec, :phase, :afterResultId, :afterUserId, false, NOW()) AS new
+            ON DUPLICATE KEY UPDATE
+                after_result_id = new.after_result_id,
+                after_user_id = new.after_user_id,
+                updated_at = NOW()
+            """, nativeQuery = true)
+    int upsertCursor(@Param("exec") UUID exec,
+                     @Param("phase") String phase,
+                     @Param("afterResultId") UUID afterResultId,
+                     @Param("afterUserId") Long afterUserId);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO batch_checkpoint (execution_id, phase, completed, updated_at)
+            VALUES (:exec, :phase, true, NOW())
+            ON DUPLICATE KEY UPDATE completed = true, updated_at = NOW()
+            """, nativeQuery = true)
+    int upsertCompleted(@Param("exec") UUID exec, @Param("phase") String phase);
+}
@@ -116,18 +116,58 @@ public interface BatchExecutionLogRepository extends JpaRepository<BatchExecutio
     Optional<BatchExecutionLog> findByExecutionId(UUID executionId);
 
 
+    // started_at = 배치 기준 시각(t0), was_id = 실행 WAS (재개 시 t0 복원 / 고아 판정에 사용)
     @Modifying
     @Query(value = """
-        INSERT INTO batch_execution_log (execution_id, target_date, cutoff_at, status, started_at)
-        SELECT :executionId, :targetDate, :cutoffAt, 'RUNNING', NOW()
+        INSERT INTO batch_execution_log (execution_id, target_date, cutoff_at, status, started_at, was_id)
+        SELECT :executionId, :targetDate, :cutoffAt, 'RUNNING', :startedAt, :wasId
         WHERE NOT EXISTS (
             SELECT 1 FROM batch_execution_log WHERE status = 'RUNNING'
         )
         """, nativeQuery = true)
     int insertIfNotRunning(@Param("executionId") UUID executionId,
                            @Param("targetDate") String targetDate,
-                           @Param("cutoffAt") LocalDateTime cutoffAt);
-}
+                           @Param("cutoffAt") LocalDateTime cutoffAt,
+                           @Param("startedAt") LocalDateTime startedAt,
+                           @Param("wasId") UUID wasId);
 
+    // 실행 WAS 의 하트비트가 끊긴 RUNNING 실행 (was_id 가 없는 행 포함)
+    @Query("""
+      select b from BatchExecutionLog b
+      where b.status = 'RUNNING'
+        and not exists (
+            select 1 from WasInstance w
+            where w = b.wasInstance
+              and w.lastHeartbeatAt >= :threshold
+        )
+      order by b.startedAt asc
+    """)
+    List<BatchExecutionLog> findOrphanedRunning(@Param("threshold") LocalDateTime threshold);
 
+    // 고아 실행 인수 (CAS: 소유 WAS 가 여전히 죽어 있을 때만 내 것으로 교체 → 동시에 여러 WAS 가 시도해도 1곳만 성공)
+    @Modifying
+    @Query(value = """
+        UPDATE batch_execution_log b
+        SET b.was_id = :wasId
+        WHERE b.execution_id = :executionId
+          AND b.status = 'RUNNING'
+          AND NOT EXISTS (
+              SELECT 1 FROM was_instance w
+              WHERE w.id = b.was_id
+                AND w.last_heartbeat_at >= :threshold
+          )
+        """, nativeQuery = true)
+    int takeOverIfOrphaned(@Param("executionId") UUID executionId,
+                           @Param("wasId") UUID wasId,
+                           @Param("threshold") LocalDateTime threshold);
 
+    // 펜싱: 아직 내 RUNNING 실행인지 (행 공유 잠금 → 커밋 전까지 다른 WAS 의 인수 UPDATE 가 대기)
+    @Query(value = """
+        SELECT COUNT(*) FROM batch_execution_log
+        WHERE execution_id = :executionId
+          AND was_id = :wasId
+          AND status = 'RUNNING'
+        FOR SHARE
+        """, nativeQuery = true)
+    long countOwnedRunning(@Param("executionId") UUID executionId, @Param("wasId") UUID wasId);
+}
@@ -0,0 +1,88 @@
+package org.example.membership.repository.jpa.batch;
+
+import org.example.membership.entity.batch.BatchWorkUnit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface BatchWorkUnitRepository extends JpaRepository<BatchWorkUnit, Long> {
+
+    /**
+     * 다른 WAS 가 잠근 행은 건너뛰고 가장 앞의 PENDING 작업 단위 1건을 잠급니다. (MySQL 8: SKIP LOCKED)
+     * 반드시 트랜잭션 안에서 호출하고, 같은 트랜잭션에서 CLAIMED 로 바꿔야 합니다.
+     */
+    @Query(value = """
+            SELECT *
+            FROM batch_work_unit
+            WHERE status = 'PENDING'
+            ORDER BY id
+            LIMIT 1
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<BatchWorkUnit> lockNextPending();
+
+    // 펜싱: 아직 내가 가져간 CLAIMED 단위인지 (행 공유 잠금 → 커밋 전까지 고아 회수 UPDATE 가 대기)
+    @Query(value = """
+            SELECT COUNT(*) FROM batch_work_unit
+            WHERE id = :id
+              AND status = 'CLAIMED'
+              AND claimed_by = :wasId
+            FOR SHARE
+            """, nativeQuery = true)
+    long countClaimedBy(@Param("id") long id, @Param("wasId") UUID wasId);
+
+    // 가져간 WAS 가 아직 소유 중일 때만 완료 처리 (고아로 회수돼 다른 WAS 가 다시 가져간 경우 무시)
+    @Modifying
+    @Query(value = """
+            UPDATE batch_work_unit
+            SET status = 'DONE', completed_at = :now
+            WHERE id = :id
+              AND status = 'CLAIMED'
+              AND claimed_by = :wasId
+            """, nativeQuery = true)
+    int markDone(@Param("id") long id, @Param("wasId") UUID wasId, @Param("now") LocalDateTime now);
+
+    // 실패: 시도 횟수가 남았으면 PENDING 으로 되돌리고, 아니면 FAILED
+    @Modifying
+    @Query(value = """
+            UPDATE batch_work_unit
+            SET status = CASE WHEN attempts >= :maxAttempts THEN 'FAILED' ELSE 'PENDING' END,
+                claimed_by = NULL
+            WHERE id = :id
+              AND status = 'CLAIMED'
+              AND claimed_by = :wasId
+            """, nativeQuery = true)
+    int markFailed(@Param("id") long id, @Param("wasId") UUID wasId, @Param("maxAttempts") int maxAttempts);
+
+    // 하트비트가 끊긴 WAS 가 잡고 있던 작업 단위를 PENDING 으로 회수 (호출한 WAS 자신이 잡은 단위는 제외: 지금 실행 중)
+    @Modifying
+    @Query(value = """
+            UPDATE batch_work_unit u
+            SET u.status = 'PENDING', u.claimed_by = NULL
+            WHERE u.execution_id = :exec
+              AND u.status = 'CLAIMED'
+              AND u.claimed_by <> :selfId
+              AND NOT EXISTS (
+                  SELECT 1 FROM was_instance w
+                  WHERE w.id = u.claimed_by
+                    AND w.last_heartbeat_at >= :threshold
+              )
+            """, nativeQuery = true)
+    int requeueOrphaned(@Param("exec") UUID exec,
+                        @Param("selfId") UUID selfId,
+                        @Param("threshold") LocalDateTime threshold);
+
+    // [status, count]
+    @Query("""
+            SELECT u.status, COUNT(u)
+            FROM BatchWorkUnit u
+            WHERE u.executionId = :exec
+            GROUP BY u.status
+            """)
+    List<Object[]> countByStatus(@Param("exec") UUID exec);
+}
@@ -3,6 +3,7 @@ package org.example.membership.repository.jpa.batch;
 
 import org.example.membership.entity.batch.LevelResult;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -23,4 +24,34 @@ public interface LevelResultRepository extends JpaRepository<LevelResult, UUID>
     List<LevelResult> findPendingAfterId(@Param("exec") UUID exec,
                                             @Param("afterId") UUID afterId,
                                             @Param("limit") int limit);
+
+    // 유저 id 구간 [startUserId, endUserId] 안에서만 id 키셋 페이지 (파이프라인 모드)
+    @Query(value = """
+    SELECT id, execution_id, user_id, new_level, status, applied_at
+    FROM level_results
+    WHERE execution_id = :exec
+      AND status = 'PENDING'
+      AND user_id BETWEEN :startUserId AND :endUserId
+      AND (:afterId IS NULL OR id > :afterId)
+    ORDER BY id
+    LIMIT :limit
+    """, nativeQuery = true)
+    List<LevelResult> findPendingInUserRangeAfterId(@Param("exec") UUID exec,
+                                                    @Param("startUserId") long startUserId,
+                                                    @Param("endUserId") long endUserId,
+                                                    @Param("afterId") UUID afterId,
+                                                    @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = """
+    UPDATE level_results
+    SET status = 'APPLIED', applied_at = NOW()
+    WHERE id IN (:ids)
+    """, nativeQuery = true)
+    int markApplied(@Param("ids") List<UUID> ids);
+
+    // [재개] 미완료 산출 단계의 부분 결과 삭제
+    @Modifying
+    @Query(value = "DELETE FROM level_results WHERE execution_id = :exec", nativeQuery = true)
+    int deleteByExecution(@Param("exec") UUID exec);
 }
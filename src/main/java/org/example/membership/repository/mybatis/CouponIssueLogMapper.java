@@ -1,9 +1,7 @@
 package org.example.membership.repository.mybatis;
 
-import org.apache.ibatis.annotations.MapKey;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
-import org.apache.ibatis.annotations.Select;
 import org.example.membership.dto.CouponIssueLogDto;
 import org.example.membership.entity.CouponIssueLog;
 
@@ -22,12 +20,7 @@ public interface CouponIssueLogMapper {
     void deleteById(@Param("id") UUID id);
     int countByUserIdAndCouponId(@Param("userId") Long userId, @Param("couponId") Long couponId);
 
-    @MapKey("userCouponKey")
-    @Select("""
-        SELECT CONCAT(user_id, '-', coupon_id) AS userCouponKey, COUNT(*) AS count
-        FROM coupon_issue_log
-        GROUP BY user_id, coupon_id
-    """)
-    Map<String, Long> countIssuedPerUserAndCoupon(); // key = userId-couponId, value = 발급 수
+    // 주어진 유저들의 (userId, couponId) 별 발급 수, (userId, couponId) 오름차순
+    List<Map<String, Object>> countIssuedByUserIds(@Param("userIds") List<Long> userIds);
 
 }
@@ -20,6 +20,9 @@ import java.util.List;
 public interface OrderItemMapper {
     void insert(OrderItem item);
 
+    // 한 주문의 항목 multi-row INSERT
+    int insertAll(@Param("orderId") Long orderId, @Param("items") List<OrderItem> items);
+
     OrderItem findById(@Param("id") Long id);
 
     List<OrderItem> findByOrderId(@Param("orderId") Long orderId);
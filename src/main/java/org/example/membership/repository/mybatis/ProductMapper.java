@@ -4,12 +4,14 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.example.membership.entity.Product;
 
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
 public interface ProductMapper {
     void insert(Product product);
     Product findById(@Param("id") Long id);
+    List<Product> findByIds(@Param("ids") Collection<Long> ids);
     List<Product> findAll();
     void update(Product product);
     void deleteById(@Param("id") Long id);
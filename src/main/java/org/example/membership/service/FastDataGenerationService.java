@@ -5,6 +5,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.example.membership.common.enums.CategoryType;
 import org.example.membership.common.enums.MembershipLevel;
 import org.example.membership.common.enums.OrderStatus;
+import org.example.membership.common.cache.ReferenceDataCache;
+import org.example.membership.infra.cluster.ReferenceDataInvalidator;
 import org.springframework.stereotype.Service;
 
 import javax.sql.DataSource;
@@ -20,6 +22,7 @@ import java.util.concurrent.ThreadLocalRandom;
 public class FastDataGenerationService {
 
     private final DataSource dataSource;
+    private final ReferenceDataInvalidator referenceDataInvalidator;
     private static final int USER_BATCH_SIZE = 10000;
     private static final int ORDER_BATCH_SIZE = 10000;
     private static final int PRODUCT_BATCH_SIZE = 1000;
@@ -30,12 +33,19 @@ public class FastDataGenerationService {
     private static final String[] FIRST_NAMES = {"민준", "서준", "예준", "도윤", "시우", "주원", "하준", "지호", "지후", "준서", "서진", "은우", "현우", "연우", "정우", "승우", "시원", "민재", "현준", "원준", "지원", "서현", "서윤", "지우", "하은", "민서", "윤서", "수아", "소율", "지안", "채원", "예원", "유나", "서아", "다은", "예은", "시은", "하린", "연서", "수빈", "영희", "철수", "영수", "순자", "미영", "정호", "승현", "태현", "진우", "상훈"};
 
     public void generateAll() {
+        generateAll(30000);
+    }
+
+    // 사용자 수를 지정해 전체 데이터 생성 (E2E 벤치마크 규모 조절용)
+    public void generateAll(int users) {
         int categoryCount = generateCategories();
         int productCount = generateProducts();
-        int userCount = generateUsers(30000);
+        int userCount = generateUsers(users);
         int badgeCount = generateBadgeSkeletons();
         int couponCount = generateCouponPoliciesByCategory();
         int orderCount = generateOrdersForUsers();
+        // JDBC 로 직접 적재했으므로 기준 데이터 캐시를 비우고 다른 WAS 에도 전파
+        referenceDataInvalidator.invalidateAndBroadcast(ReferenceDataCache.Region.ALL);
         log.info("🎉 전체 데이터 생성 완료 - categories: {}, coupons: {}, products: {}, users: {}, badges: {}, orders: {}",
                 categoryCount, couponCount, productCount, userCount, badgeCount, orderCount);
     }
@@ -2,24 +2,22 @@ package org.example.membership.service.jpa;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.example.membership.common.concurrent.FlagManager;
-import org.example.membership.dto.OrderCountAndAmount;
+import org.example.membership.common.badge.BadgeChangeSet;
+import org.example.membership.common.badge.BadgeDiffEngine;
 import org.example.membership.entity.Badge;
-import org.example.membership.entity.BadgeLog;
 import org.example.membership.entity.Category;
 import org.example.membership.entity.User;
 import org.example.membership.exception.NotFoundException;
-import org.example.membership.repository.jpa.BadgeLogRepository;
 import org.example.membership.repository.jpa.BadgeRepository;
 import org.example.membership.repository.jpa.CategoryRepository;
 import org.example.membership.repository.jpa.UserRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -30,41 +28,37 @@ public class JpaBadgeService {
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
     private final JpaOrderService jpaOrderService;
-    private final FlagManager flagManager;
-    private final BadgeLogRepository badgeLogRepository;
     // private final FlagManager flagManager; // 더 이상 배치 플래그에 의존하지 않음
 
     /**
-     * [배치용] 현재 배지 상태와 통계를 비교하여, 상태 변경이 필요한 (userId:categoryId) 키와
-     * 새로운 상태(true/false)를 Map 형태로 반환합니다.
+     * [배치용] 현재 배지 상태와 통계를 비교하여, 상태 변경이 필요한 (userId, categoryId) 와
+     * 새로운 상태(true/false)를 BadgeChangeSet 으로 반환합니다.
+     * 정렬된 집계 행과 전체 배지 스트림을 BadgeDiffEngine 으로 merge-join 합니다.
+     *
+     * @param sortedStats [userId, categoryId, orderCount, amount], (userId, categoryId) 오름차순
      */
     @Transactional(readOnly = true)
-    public Map<String, Boolean> detectBadgeUpdateTargets(List<User> users,
-                                                         Map<Long, Map<Long, OrderCountAndAmount>> statMap) {
-        List<Badge> allBadges = badgeRepository.findAllByUserIn(users);
-        Map<String, Boolean> targets = new HashMap<>();
-        //배지 획득/유지 조건 금액 (정책 각 카테고리 구매 횟수 5회 이상, 40만원 이상)
-        BigDecimal compareDecimal = new BigDecimal("400000");
-
-        for (Badge badge : allBadges) {
-            Long userId = badge.getUser().getId();
-            Long categoryId = badge.getCategory().getId();
-            OrderCountAndAmount stat = statMap.getOrDefault(userId, new HashMap<>()).get(categoryId);
-
-            // 배지 획득/유지 조건
-            boolean shouldBeActive = stat != null &&
-                    stat.getCount() >= 5 &&
-                    stat.getAmount().compareTo(compareDecimal) >= 0;
-
-            //배지 변동이 필요한 경우
-            if (badge.isActive() != shouldBeActive) {
-                //  key-value 형태로 새로운 상태(shouldBeActive)를 함께 저장
-                targets.put(userId + ":" + categoryId, shouldBeActive);
-            }
+    public BadgeChangeSet detectBadgeUpdateTargets(List<Object[]> sortedStats) {
+        BadgeChangeSet targets = new BadgeChangeSet();
+        try (Stream<Object[]> badges = badgeRepository.streamAllStates()) {
+            BadgeDiffEngine.diff(sortedStats.iterator(), badges.iterator(), targets::add);
         }
         return targets;
     }
 
+    /**
+     * [배치용/스트리밍] 유저 id 구간 [startUserId, endUserId] 의 배지만 (userId, categoryId, active) 로 읽어
+     * 변경 대상을 계산합니다. sortedStats 는 같은 구간으로 집계된 정렬 행이어야 합니다.
+     */
+    @Transactional(readOnly = true)
+    public BadgeChangeSet detectBadgeUpdateTargetsInRange(long startUserId, long endUserId,
+                                                          List<Object[]> sortedStats) {
+        List<Object[]> states = badgeRepository.findStatesByUserIdRange(startUserId, endUserId);
+        BadgeChangeSet targets = new BadgeChangeSet();
+        BadgeDiffEngine.diff(sortedStats.iterator(), states.iterator(), targets::add);
+        return targets;
+    }
+
 
     /**
      * [API용] 관리자가 배지 활성 상태를 수동으로 변경합니다.
@@ -80,11 +74,7 @@ public class JpaBadgeService {
         Badge badge = badgeRepository.findByUserAndCategory(user, category)
                 .orElseThrow(() -> new NotFoundException("Badge not found"));
 
-        if (flagManager.isBatchRunning()) {
-            BadgeLog log = new BadgeLog(badge.getId(), badge.isActive());
-            badgeLogRepository.save(log);
-        }
-
+        // updated_at 이 t0 이후로 바뀌므로 진행 중인 배치의 적용 UPDATE 는 이 배지를 덮어쓰지 않음
         if (active) {
             badge.activate();
         } else {
@@ -3,6 +3,11 @@ package org.example.membership.service.jpa;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.example.membership.common.cache.ReferenceDataCache;
+import org.example.membership.common.enums.MembershipLevel;
+import org.example.membership.common.util.IssuedCouponCounts;
+import org.example.membership.dto.CouponIssueLogDto;
+import org.example.membership.dto.CursorPage;
 import org.example.membership.entity.Badge;
 import org.example.membership.entity.Coupon;
 import org.example.membership.entity.CouponIssueLog;
@@ -12,6 +17,7 @@ import org.example.membership.repository.jpa.BadgeRepository;
 import org.example.membership.repository.jpa.CouponIssueLogRepository;
 import org.example.membership.repository.jpa.CouponRepository;
 import org.example.membership.repository.jpa.UserRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +25,8 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +37,7 @@ public class JpaCouponService {
     private final CouponRepository couponRepository;
     private final CouponIssueLogRepository couponIssueLogRepository;
     private final UserRepository userRepository;
+    private final ReferenceDataCache referenceDataCache;
 
 
     @PersistenceContext
@@ -50,8 +59,8 @@ public class JpaCouponService {
         List<Badge> badges = badgeRepository.findByUserAndActiveTrue(user);
 
         for (Badge badge : badges) {
-            Coupon coupon = couponRepository
-                    .findByCategory(badge.getCategory())
+            Coupon coupon = referenceDataCache
+                    .couponByCategoryId(badge.getCategory().getId())
                     .orElse(null);  // autoIssue 조건 제거
             if (coupon == null) continue;
 
@@ -89,26 +98,28 @@ public class JpaCouponService {
     }
 
 
+    /**
+     * [배치용] 등급/활성 배지 기준으로 부족한 쿠폰만 발급합니다. (기발급 수를 세고 모자란 만큼 INSERT)
+     *
+     * @param fence 발급 전에 이 트랜잭션 안에서 호출하는 배치 소유권 확인.
+     *              FOR SHARE 로 커밋까지 다른 WAS 의 인수를 막아, 인수 후 같은 페이지를 다시 발급하는 새 리더와
+     *              기발급 수를 동시에 읽고 중복 발급하는 일이 없도록 합니다.
+     */
     @Transactional
-    public void bulkIssueCoupons(List<User> users, int batchSize) {
-
-
+    public void bulkIssueCoupons(List<User> users, int batchSize, Runnable fence) {
+        fence.run();
 
         // 1. 사용자별 배지 사전 조회
         Map<Long, List<Badge>> badgeMap = badgeRepository.findAllByUserInAndActiveTrue(users).stream()
                 .collect(Collectors.groupingBy(b -> b.getUser().getId()));
 
-        // 2. 전체 쿠폰 사전 조회 (카테고리 기준)
-        Map<Long, Coupon> couponMap = couponRepository.findAll().stream()
-                .collect(Collectors.toMap(c -> c.getCategory().getId(), c -> c));
+        // 2. 전체 쿠폰 (카테고리 기준, 기준 데이터 캐시)
+        Map<Long, Coupon> couponMap = referenceDataCache.couponsByCategoryId();
 
-        // 3. 기존 발급 로그를 미리 조회하여 캐싱 (userId + couponId 기준)
-        List<CouponIssueLog> existingLogs = couponIssueLogRepository.findAllByUserIn(users);
-        Map<String, Long> issuedCountMap = existingLogs.stream()
-                .collect(Collectors.groupingBy(
-                        log -> log.getUser().getId() + "-" + log.getCoupon().getId(),
-                        Collectors.counting()
-                ));
+        // 3. 이 파티션 유저들의 기발급 수만 SQL 에서 집계 (userId + couponId 기준)
+        List<Long> userIds = users.stream().map(User::getId).toList();
+        IssuedCouponCounts issuedCounts =
+                IssuedCouponCounts.fromRows(couponIssueLogRepository.countIssuedByUserIds(userIds));
 
         int count = 0;
 
@@ -127,10 +138,9 @@ public class JpaCouponService {
                 Coupon coupon = couponMap.get(badge.getCategory().getId());
                 if (coupon == null) continue;
 
-                String key = user.getId() + "-" + coupon.getId();
-                long already = issuedCountMap.getOrDefault(key, 0L);
+                int already = issuedCounts.get(user.getId(), coupon.getId());
 
-                for (int i = (int) already; i < qty; i++) {
+                for (int i = already; i < qty; i++) {
                     CouponIssueLog log = new CouponIssueLog();
                     log.setUser(user);
                     log.setCoupon(coupon);
@@ -153,11 +163,33 @@ public class JpaCouponService {
     }
 
 
-    public List<CouponIssueLog> getIssuedCouponsByUser(Long userId) {
+    // [목록 API] 유저 발급 이력 id 키셋 페이지 (afterId null = 첫 페이지)
+    @Transactional(readOnly = true)
+    public CursorPage<CouponIssueLogDto, String> getIssuedCouponsByUser(Long userId, String afterId, int size) {
+        if (!userRepository.existsById(userId)) throw new NotFoundException("User not found");
+        List<CouponIssueLogDto> items = couponIssueLogRepository
+                .findRowsByUserAfterId(userId, afterId, PageRequest.of(0, size)).stream()
+                .map(JpaCouponService::toIssueLogDto)
+                .toList();
+        return CursorPage.of(items, size, CouponIssueLogDto::getId);
+    }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User not found"));
-        return couponIssueLogRepository.findByUser(user);
+    // [목록 API/NDJSON] 유저 발급 이력을 forward-only 결과셋에서 한 행씩 sink 로 전달 (엔티티 미생성)
+    @Transactional(readOnly = true)
+    public void streamIssuedCouponsByUser(Long userId, Consumer<CouponIssueLogDto> sink) {
+        try (Stream<Object[]> rows = couponIssueLogRepository.streamRowsByUser(userId)) {
+            rows.map(JpaCouponService::toIssueLogDto).forEach(sink);
+        }
+    }
 
+    // [id, userId, couponId, membershipLevel, issuedAt]
+    private static CouponIssueLogDto toIssueLogDto(Object[] r) {
+        CouponIssueLogDto dto = new CouponIssueLogDto();
+        dto.setId((String) r[0]);
+        dto.setUserId((Long) r[1]);
+        dto.setCouponId((Long) r[2]);
+        dto.setMembershipLevel((MembershipLevel) r[3]);
+        dto.setIssuedAt((LocalDateTime) r[4]);
+        return dto;
     }
 }
@@ -3,7 +3,13 @@ package org.example.membership.service.jpa;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.membership.common.cache.ReferenceDataCache;
+import org.example.membership.common.enums.CategoryType;
 import org.example.membership.common.enums.MembershipLevel;
+import org.example.membership.dto.BulkCreateUserResponse;
+import org.example.membership.dto.CursorPage;
+import org.example.membership.dto.UserResponse;
 import org.example.membership.dto.UserStatusResponse;
 import org.example.membership.entity.Badge;
 import org.example.membership.entity.Category;
@@ -13,25 +19,34 @@ import org.example.membership.exception.NotFoundException;
 import org.example.membership.repository.jpa.*;
 import org.example.membership.dto.CreateUserRequest;
 import org.example.membership.dto.MembershipInfoResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class JpaMembershipService {
     private final UserRepository userRepository;
     private final BadgeRepository badgeRepository;
     private final CouponIssueLogRepository couponIssueLogRepository;
-    private final CategoryRepository categoryRepository;
     private final MembershipLogRepository membershipLogRepository;
+    private final ReferenceDataCache referenceDataCache;
 
 
     @PersistenceContext
     private EntityManager entityManager;
 
+    // 대량 온보딩 시 INSERT 문 1개(multi-row)에 묶는 행 수
+    @Value("${user.bulk-create.batch-size:1000}")
+    private int bulkCreateBatchSize;
+
     @Transactional
     public User createUser(CreateUserRequest request) {
         User user = new User();
@@ -42,7 +57,7 @@ public class JpaMembershipService {
         }
         user = userRepository.save(user);
 
-        List<Category> categories = categoryRepository.findAll();
+        List<Category> categories = referenceDataCache.categories();
         List<Badge> badges = new ArrayList<>();
         for (Category category : categories) {
             Badge badge = new Badge();
@@ -55,20 +70,75 @@ public class JpaMembershipService {
         return user;
     }
 
+    /**
+     * 대량 온보딩: 유저와 배지 스켈레톤을 JDBC 배치 INSERT 로 한 트랜잭션에 저장합니다. (전체 성공 또는 전체 롤백)
+     * 건당 createUser 의 유저 1 + 카테고리 조회 + 배지 N 왕복 대신, batchSize 건당 multi-row INSERT 1회씩만 나갑니다.
+     */
+    @Transactional
+    public BulkCreateUserResponse bulkCreateUsers(List<CreateUserRequest> requests) {
+        long start = System.nanoTime();
+
+        List<User> users = new ArrayList<>(requests.size());
+        for (CreateUserRequest request : requests) {
+            User user = new User();
+            user.setName(request.getName());
+            if (request.getMembershipLevel() != null) {
+                user.setMembershipLevel(request.getMembershipLevel());
+            }
+            users.add(user);
+        }
+
+        List<Long> userIds = userRepository.insertAll(users, bulkCreateBatchSize);
+        List<Long> categoryIds = referenceDataCache.categories().stream().map(Category::getId).toList();
+        int badgeCount = badgeRepository.insertSkeletons(userIds, categoryIds, bulkCreateBatchSize);
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        double usersPerSecond = userIds.size() * 1000.0 / Math.max(elapsedMillis, 1);
+        log.info("[대량 유저 생성] 유저 {}명, 배지 {}건, {}ms ({} users/s)",
+                userIds.size(), badgeCount, elapsedMillis, String.format("%.1f", usersPerSecond));
+        return new BulkCreateUserResponse(userIds.size(), badgeCount, userIds, elapsedMillis, usersPerSecond);
+    }
+
     @Transactional(readOnly = true)
     public User getUserById(Long id) {
         return userRepository.findById(id).orElseThrow(() -> new NotFoundException("User not found"));
     }
 
+    // [단건 API] 필요한 컬럼만 조회한 응답 DTO (엔티티/membershipLogs 직렬화 없음)
+    @Transactional(readOnly = true)
+    public UserResponse getUserResponse(Long id) {
+        List<Object[]> rows = userRepository.findRowById(id);
+        if (rows.isEmpty()) throw new NotFoundException("User not found");
+        return toUserResponse(rows.get(0));
+    }
+
     @Transactional(readOnly = true)
     public MembershipInfoResponse getUserByName(String name) {
         User user = userRepository.findByName(name).orElseThrow(() -> new NotFoundException("User not found"));
         return MembershipInfoResponse.from(user);
     }
 
+    // [목록 API] id 키셋 페이지 (offset 미사용 → 페이지 위치와 무관하게 일정한 지연)
     @Transactional(readOnly = true)
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public CursorPage<UserResponse, Long> getUsersAfter(long afterId, int size) {
+        List<UserResponse> items = userRepository.findRowsAfterId(afterId, PageRequest.of(0, size)).stream()
+                .map(JpaMembershipService::toUserResponse)
+                .toList();
+        return CursorPage.of(items, size, UserResponse::getId);
+    }
+
+    // [목록 API/NDJSON] 전체 유저를 forward-only 결과셋에서 한 행씩 sink 로 전달 (엔티티 미생성)
+    @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<UserResponse> sink) {
+        try (Stream<Object[]> rows = userRepository.streamAllRows()) {
+            rows.map(JpaMembershipService::toUserResponse).forEach(sink);
+        }
+    }
+
+    // [id, name, membershipLevel, lastMembershipChange, createdAt]
+    private static UserResponse toUserResponse(Object[] r) {
+        return new UserResponse((Long) r[0], (String) r[1], (MembershipLevel) r[2],
+                (LocalDateTime) r[3], (LocalDateTime) r[4]);
     }
 
     @Transactional
@@ -92,12 +162,16 @@ public class JpaMembershipService {
 
     @Transactional(readOnly = true)
     public UserStatusResponse getUserStatus(Long userId) {
-        User user = getUserById(userId);
-        UserStatusResponse resp = new org.example.membership.dto.UserStatusResponse();
-        resp.setUserId(user.getId());
-        resp.setMembershipLevel(user.getMembershipLevel());
-        List<String> badges = badgeRepository.findByUser(user).stream()
-                .map(b -> b.getCategory().getName().name())
+        // 유저 + 배지 + 카테고리 조인 1회 ([userId, membershipLevel, categoryName], 배지 없으면 categoryName=null 1행)
+        List<Object[]> rows = userRepository.findStatusRowsById(userId);
+        if (rows.isEmpty()) throw new NotFoundException("User not found");
+
+        UserStatusResponse resp = new UserStatusResponse();
+        resp.setUserId((Long) rows.get(0)[0]);
+        resp.setMembershipLevel((MembershipLevel) rows.get(0)[1]);
+        List<String> badges = rows.stream()
+                .filter(r -> r[2] != null)
+                .map(r -> ((CategoryType) r[2]).name())
                 .toList();
         resp.setBadges(badges);
         return resp;
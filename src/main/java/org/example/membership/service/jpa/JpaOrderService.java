@@ -1,23 +1,32 @@
 package org.example.membership.service.jpa;
 
 import lombok.RequiredArgsConstructor;
+import org.example.membership.common.cache.ReferenceDataCache;
+import org.example.membership.common.enums.CouponAmount;
 import org.example.membership.common.enums.OrderStatus;
 import org.example.membership.dto.*;
 import org.example.membership.entity.*;
 import org.example.membership.exception.ConflictException;
 import org.example.membership.exception.NotFoundException;
 import org.example.membership.repository.jpa.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -25,9 +34,18 @@ public class JpaOrderService {
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final UserRepository userRepository;
-    private final ProductRepository productRepository;
     private final CouponIssueLogRepository couponIssueLogRepository;
     private final CouponUsageRepository couponUsageRepository;
+    private final UserCategoryMonthlyStatRepository monthlyStatRepository;
+    private final ReferenceDataCache referenceDataCache;
+
+    private static final String COUPON_USAGE_UNIQUE_KEY = "uk_coupon_usage_issue_log";
+    // MySQL ER_DUP_ENTRY (SQLState 23000)
+    private static final int MYSQL_DUPLICATE_KEY = 1062;
+
+    // true: 월 경계에 맞는 집계 구간이면 user_category_monthly_stats 월 버킷 합산으로 읽음
+    @Value("${batch.snapshot.monthly-stats-read:false}")
+    private boolean monthlyStatsRead;
 
 
     @Transactional
@@ -42,66 +60,169 @@ public class JpaOrderService {
         order.setStatus(OrderStatus.PAID);
         order.setOrderedAt(LocalDateTime.now());
 
+        // 상품은 한 번에 조회 (캐시 미스분만 IN 쿼리 1회)
+        Map<Long, Product> products = referenceDataCache.products(
+                request.getItems().stream().map(OrderItemRequest::getProductId).distinct().toList());
+
         BigDecimal total = BigDecimal.ZERO;
+        List<OrderItem> items = new ArrayList<>(request.getItems().size());
         for (OrderItemRequest itemReq : request.getItems()) {
-            Product product = productRepository.findById(itemReq.getProductId())
-                    .orElseThrow(() -> new NotFoundException("Product not found"));
+            Product product = products.get(itemReq.getProductId());
+            if (product == null) throw new NotFoundException("Product not found");
             OrderItem item = new OrderItem();
             item.setOrder(order);
             item.setProduct(product);
             item.setQuantity(itemReq.getQuantity());
             item.setItemPrice(product.getPrice());
-            order.getItems().add(item);
+            items.add(item);
             total = total.add(product.getPrice().multiply(BigDecimal.valueOf(itemReq.getQuantity())));
         }
 
         order.setTotalAmount(total);
         order = orderRepository.save(order);
+        // 항목은 cascade 대신 multi-row INSERT 1회 (order.items 컬렉션에는 넣지 않음 → 커밋 시 중복 INSERT 없음)
+        orderItemRepository.insertAll(order.getId(), items);
+        applyMonthlyStatDelta(order, items, 1);
 
         CouponUsage usage = null;
 
         if (request.getCouponIssueId() != null) {
             String issueId = request.getCouponIssueId();
-            if (couponUsageRepository.existsByCouponIssueLog_Id(issueId)) {
-                throw new ConflictException("Coupon already used");
-            }
-
             CouponIssueLog log = couponIssueLogRepository.findById(issueId)
                     .orElseThrow(() -> new NotFoundException("Coupon issue not found"));
+            // 쿠폰은 프록시 id 로 기준 데이터 캐시에서 조회 (지연 로딩 SELECT 없음)
+            Long couponId = log.getCoupon().getId();
+            Coupon coupon = referenceDataCache.coupon(couponId).orElseGet(log::getCoupon);
 
             usage = new CouponUsage();
             usage.setUser(user);
-            usage.setCoupon(log.getCoupon());
+            usage.setCoupon(coupon);
             usage.setOrder(order);
             usage.setCouponIssueLog(log);
-            couponUsageRepository.save(usage);
+            // 사용 여부 선조회 없이 INSERT: 중복 사용은 uk_coupon_usage_issue_log 유니크 키가 거절 (WAS 간 경합 포함)
+            // 키 존재는 기동 시 CouponUsageSchemaVerifier 가 확인
+            try {
+                couponUsageRepository.saveAndFlush(usage);
+            } catch (DataIntegrityViolationException e) {
+                if (isDuplicateCouponUsage(e)) throw new ConflictException("Coupon already used");
+                throw e;
+            }
         }
 
-        return toOrderResponse(order, usage);
+        return toOrderResponse(order, items, usage);
     }
 
 
+    // 중복 키 오류(1062)이고 위반 키가 uk_coupon_usage_issue_log 일 때만 중복 사용 (FK/NOT NULL 등 다른 위반은 그대로 전파)
+    private static boolean isDuplicateCouponUsage(DataIntegrityViolationException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLException sql && sql.getErrorCode() == MYSQL_DUPLICATE_KEY) {
+                return String.valueOf(sql.getMessage()).contains(COUPON_USAGE_UNIQUE_KEY);
+            }
+        }
+        return false;
+    }
+
     @Transactional(readOnly = true)
     public Order getOrderById(Long id) {
         return orderRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
     }
 
+    // [단건 API] 주문 상세 조인 1회로 응답 조립 (Order/OrderItem/Product/Coupon 엔티티 미생성)
     @Transactional(readOnly = true)
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    public OrderResponse getOrderResponse(Long id) {
+        List<Object[]> rows = orderRepository.findDetailRowsById(id);
+        if (rows.isEmpty()) throw new NotFoundException("Order not found");
+
+        // [id, userId, status, orderedAt, totalAmount, discountAmount, productId, productName, quantity, itemPrice]
+        Object[] head = rows.get(0);
+        BigDecimal original = (BigDecimal) head[4];
+        BigDecimal discount = head[5] != null ? ((CouponAmount) head[5]).getAmount() : BigDecimal.ZERO;
+
+        OrderResponse response = new OrderResponse();
+        response.setId((Long) head[0]);
+        response.setUserId((Long) head[1]);
+        response.setStatus((OrderStatus) head[2]);
+        response.setOrderedAt((LocalDateTime) head[3]);
+        response.setTotalAmount(original);
+        response.setOriginalAmount(original);
+        response.setDiscountAmount(discount);
+        response.setFinalAmount(original.subtract(discount));
+
+        List<OrderItemResponse> items = new ArrayList<>(rows.size());
+        for (Object[] r : rows) {
+            if (r[6] == null) continue;
+            OrderItemResponse item = new OrderItemResponse();
+            item.setProductId((Long) r[6]);
+            item.setProductName((String) r[7]);
+            item.setQuantity((Integer) r[8]);
+            item.setItemPrice((BigDecimal) r[9]);
+            items.add(item);
+        }
+        response.setItems(items);
+        return response;
+    }
+
+    // [목록 API] id 키셋 페이지 (offset 미사용 → 페이지 위치와 무관하게 일정한 지연)
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse, Long> getOrdersAfter(long afterId, int size) {
+        List<OrderResponse> items = orderRepository.findRowsAfterId(afterId, PageRequest.of(0, size)).stream()
+                .map(JpaOrderService::toOrderSummary)
+                .toList();
+        return CursorPage.of(items, size, OrderResponse::getId);
+    }
+
+    // [목록 API/NDJSON] 전체 주문을 forward-only 결과셋에서 한 행씩 sink 로 전달 (엔티티 미생성)
+    @Transactional(readOnly = true)
+    public void streamAllOrders(Consumer<OrderResponse> sink) {
+        try (Stream<Object[]> rows = orderRepository.streamAllRows()) {
+            rows.map(JpaOrderService::toOrderSummary).forEach(sink);
+        }
+    }
+
+    // [id, userId, totalAmount, status, orderedAt] → 항목/할인 없는 요약 응답
+    private static OrderResponse toOrderSummary(Object[] r) {
+        OrderResponse dto = new OrderResponse();
+        dto.setId((Long) r[0]);
+        dto.setUserId((Long) r[1]);
+        dto.setTotalAmount((BigDecimal) r[2]);
+        dto.setStatus((OrderStatus) r[3]);
+        dto.setOrderedAt((LocalDateTime) r[4]);
+        return dto;
     }
 
     @Transactional
     public Order updateOrderStatus(Long orderId, OrderStatus newStatus) {
         Order order = getOrderById(orderId);
-        order.setStatus(newStatus);
+        OrderStatus oldStatus = order.getStatus();
+        if (oldStatus != newStatus) {
+            // PAID 로 들어오면 +, PAID 에서 나가면 - (월 집계는 PAID 주문만 포함)
+            if (oldStatus == OrderStatus.PAID) applyMonthlyStatDelta(order, -1);
+            order.setStatus(newStatus);
+            if (newStatus == OrderStatus.PAID) applyMonthlyStatDelta(order, 1);
+        }
         return orderRepository.save(order);
     }
 
     @Transactional
     public void deleteOrder(Long id) {
-        orderRepository.deleteById(id);
+        orderRepository.findById(id).ifPresent(order -> {
+            if (order.getStatus() == OrderStatus.PAID) applyMonthlyStatDelta(order, -1);
+            orderRepository.delete(order);
+        });
+    }
+
+    /**
+     * 주문 원본으로 user_category_monthly_stats 를 전체 재구성합니다.
+     * FastDataGenerationService 처럼 JDBC 로 직접 적재한 주문은 증분 반영이 되지 않으므로 적재 후 1회 호출합니다.
+     * 삭제와 재적재 사이에 주문이 커밋되면 증분과 재집계에 이중 반영/누락되므로, 한 트랜잭션에서 주문을 먼저 잠급니다.
+     */
+    @Transactional
+    public int rebuildMonthlyStats() {
+        orderRepository.lockAllForShare();
+        monthlyStatRepository.deleteAllStats();
+        return monthlyStatRepository.rebuildFromOrders();
     }
 
     @Transactional(readOnly = true)
@@ -130,7 +251,75 @@ public class JpaOrderService {
         LocalDateTime endDateTime = cutoffAt;
 
         List<Object[]> results = orderRepository.aggregateUserCategoryStats(startDateTime, endDateTime);
+        return toUserStatMap(results);
+    }
+
+    /**
+     * [배치용] 유저별 카테고리별 집계 행을 (userId, categoryId) 오름차순 그대로 반환합니다.
+     * 행 형식: [userId, categoryId, orderCount, amount] — BadgeDiffEngine 의 stats 입력
+     */
+    public List<Object[]> findUserCategoryStatsSorted(LocalDate targetDate, LocalDateTime cutoffAt) {
+        if (canReadMonthlyStats(targetDate, cutoffAt)) {
+            return monthlyStatRepository.sumByMonths(targetDate.minusMonths(3), targetDate);
+        }
+        LocalDateTime startDateTime = targetDate.minusMonths(3).atStartOfDay();
+        return orderRepository.aggregateUserCategoryStats(startDateTime, cutoffAt);
+    }
+
+    /**
+     * [배치용] 유저 id 구간 [startUserId, endUserId] 에 대해서만 집계합니다. (스트리밍 읽기 단계)
+     */
+    public List<Object[]> findUserCategoryStatsSorted(LocalDate targetDate, LocalDateTime cutoffAt,
+                                                      long startUserId, long endUserId) {
+        if (canReadMonthlyStats(targetDate, cutoffAt)) {
+            return monthlyStatRepository.sumByMonthsAndUserRange(
+                    targetDate.minusMonths(3), targetDate, startUserId, endUserId);
+        }
+        LocalDateTime startDateTime = targetDate.minusMonths(3).atStartOfDay();
+        return orderRepository.aggregateByUserAndCategoryBetween(startDateTime, cutoffAt, startUserId, endUserId);
+    }
+
+    // 월 버킷은 [월초, 다음 월초) 단위이므로 구간이 정확히 3개월 경계와 맞을 때만 대체 가능
+    private boolean canReadMonthlyStats(LocalDate targetDate, LocalDateTime cutoffAt) {
+        return monthlyStatsRead
+                && targetDate.getDayOfMonth() == 1
+                && cutoffAt.equals(targetDate.atStartOfDay());
+    }
+
+    /**
+     * PAID 주문 1건을 월 집계에 sign(+1/-1) 방향으로 반영합니다.
+     * 기존 집계 쿼리와 같은 기준: 항목 1개당 count 1, amount = item_price * quantity - 주문 쿠폰 할인액
+     */
+    private void applyMonthlyStatDelta(Order order, int sign) {
+        applyMonthlyStatDelta(order, order.getItems(), sign);
+    }
+
+    private void applyMonthlyStatDelta(Order order, List<OrderItem> items, int sign) {
+        LocalDate statMonth = order.getOrderedAt().toLocalDate().withDayOfMonth(1);
+        BigDecimal discount = order.getCoupon() != null
+                ? order.getCoupon().getDiscountAmount().getAmount()
+                : BigDecimal.ZERO;
+
+        // 같은 카테고리 항목은 모아서 upsert 1회
+        Map<Long, OrderCountAndAmount> byCategory = new HashMap<>();
+        for (OrderItem item : items) {
+            if (item.getProduct().getCategory() == null) continue;
+            Long categoryId = item.getProduct().getCategory().getId();
+            BigDecimal amount = item.getItemPrice()
+                    .multiply(BigDecimal.valueOf(item.getQuantity()))
+                    .subtract(discount);
+            byCategory.merge(categoryId, new OrderCountAndAmount(1, amount),
+                    (a, b) -> new OrderCountAndAmount(a.getCount() + b.getCount(), a.getAmount().add(b.getAmount())));
+        }
+
+        long userId = order.getUser().getId();
+        byCategory.forEach((categoryId, stat) -> monthlyStatRepository.upsertDelta(
+                userId, categoryId, statMonth,
+                sign * stat.getCount(),
+                sign > 0 ? stat.getAmount() : stat.getAmount().negate()));
+    }
 
+    private Map<Long, Map<Long, OrderCountAndAmount>> toUserStatMap(List<Object[]> results) {
         Map<Long, Map<Long, OrderCountAndAmount>> userStatMap = new HashMap<>();
 
         for (Object[] row : results) {
@@ -148,7 +337,7 @@ public class JpaOrderService {
 
 
 
-    private OrderResponse toOrderResponse(Order order, CouponUsage usage) {
+    private OrderResponse toOrderResponse(Order order, List<OrderItem> orderItems, CouponUsage usage) {
         BigDecimal original = order.getTotalAmount();
         BigDecimal discount = usage != null
                 ? usage.getCoupon().getDiscountAmount().getAmount()
@@ -164,7 +353,7 @@ public class JpaOrderService {
         response.setDiscountAmount(discount);
         response.setFinalAmount(finalAmount);
 
-        List<OrderItemResponse> items = order.getItems().stream()
+        List<OrderItemResponse> items = orderItems.stream()
                 .map(item -> {
                     OrderItemResponse r = new OrderItemResponse();
                     r.setProductId(item.getProduct().getId());
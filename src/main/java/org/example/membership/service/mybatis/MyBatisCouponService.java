@@ -5,6 +5,7 @@ import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.example.membership.common.enums.MembershipLevel;
+import org.example.membership.common.util.IssuedCouponCounts;
 import org.example.membership.common.util.ShardPrefixedUuidGenerator;
 import org.example.membership.dto.CouponIssueLogDto;
 import org.example.membership.entity.Badge;
@@ -49,7 +50,7 @@ public class MyBatisCouponService {
     public void bulkIssueCoupons(List<User> users,
                                  Map<Long, List<Badge>> badgeMap,
                                  Map<Long, Coupon> couponMap,
-                                 Map<String, Long> issuedCountMap,
+                                 IssuedCouponCounts issuedCounts,
                                  int batchSize) {
 
         try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
@@ -72,10 +73,9 @@ public class MyBatisCouponService {
                     Coupon coupon = couponMap.get(badge.getCategory().getId());
                     if (coupon == null) continue;
 
-                    String key = user.getId() + "-" + coupon.getId();
-                    long already = issuedCountMap.getOrDefault(key, 0L);
+                    int already = issuedCounts.get(user.getId(), coupon.getId());
 
-                    for (int i = (int) already; i < qty; i++) {
+                    for (int i = already; i < qty; i++) {
                         CouponIssueLogDto dto = new CouponIssueLogDto();
                         int shardNo = Math.abs(user.getId().hashCode() % 100); // 샤드 번호 결정
                         dto.setId(ShardPrefixedUuidGenerator.generate(shardNo)); // String 기반 ID
@@ -109,6 +109,9 @@ public class MyBatisCouponService {
 
     @Transactional
     public void bulkIssueCouponsWithResolvedData(List<User> users, int batchSize) {
+        // 빈 파티션: 아래 IN (...) 조회가 IN () 구문 오류가 되므로 바로 종료
+        if (users.isEmpty()) return;
+
         List<Long> userIds = users.stream().map(User::getId).toList();
 
         List<Badge> allBadges = badgeMapper.findByUserIds(userIds);
@@ -118,9 +121,13 @@ public class MyBatisCouponService {
         Map<Long, Coupon> couponMap = couponMapper.findAll().stream()
                 .collect(Collectors.toMap(c -> c.getCategory().getId(), c -> c));
 
-        Map<String, Long> issuedCountMap = couponIssueLogMapper.countIssuedPerUserAndCoupon();
+        // 전체 테이블이 아닌 이 유저들의 발급 수만 집계
+        List<Object[]> rows = couponIssueLogMapper.countIssuedByUserIds(userIds).stream()
+                .map(m -> new Object[]{m.get("userId"), m.get("couponId"), m.get("cnt")})
+                .toList();
+        IssuedCouponCounts issuedCounts = IssuedCouponCounts.fromRows(rows);
 
-        bulkIssueCoupons(users, badgeMap, couponMap, issuedCountMap, batchSize);
+        bulkIssueCoupons(users, badgeMap, couponMap, issuedCounts, batchSize);
     }
 
     @Transactional
@@ -7,6 +7,7 @@ import org.example.membership.dto.UserCategoryOrderStats;
 import org.example.membership.entity.Order;
 import org.example.membership.entity.OrderItem;
 import org.example.membership.entity.Product;
+import org.example.membership.exception.NotFoundException;
 import org.example.membership.repository.mybatis.OrderItemMapper;
 import org.example.membership.repository.mybatis.OrderMapper;
 import org.example.membership.common.enums.OrderStatus;
@@ -20,9 +21,11 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -35,27 +38,31 @@ public class MyBatisOrderService {
     @Transactional
     public OrderRequest createOrder(OrderRequest order) {
         order.setOrderedAt(LocalDateTime.now());
-        java.math.BigDecimal total = java.math.BigDecimal.ZERO;
-        if (order.getItems() != null) {
-            for (OrderItemRequest itemReq : order.getItems()) {
-                Product product = productMapper.findById(itemReq.getProductId());
-                total = total.add(product.getPrice().multiply(java.math.BigDecimal.valueOf(itemReq.getQuantity())));
-            }
+        List<OrderItemRequest> itemReqs = order.getItems() != null ? order.getItems() : List.of();
+
+        // 상품은 IN 쿼리 1회로 조회, 합계는 한 번만 계산
+        Map<Long, Product> products = itemReqs.isEmpty() ? Map.of()
+                : productMapper.findByIds(itemReqs.stream().map(OrderItemRequest::getProductId).distinct().toList())
+                        .stream().collect(Collectors.toMap(Product::getId, p -> p));
+
+        BigDecimal total = BigDecimal.ZERO;
+        List<OrderItem> items = new ArrayList<>(itemReqs.size());
+        for (OrderItemRequest itemReq : itemReqs) {
+            Product product = products.get(itemReq.getProductId());
+            if (product == null) throw new NotFoundException("Product not found");
+            OrderItem item = new OrderItem();
+            item.setProduct(product);
+            item.setQuantity(itemReq.getQuantity());
+            item.setItemPrice(product.getPrice());
+            items.add(item);
+            total = total.add(product.getPrice().multiply(BigDecimal.valueOf(itemReq.getQuantity())));
         }
         order.setTotalAmount(total);
         orderMapper.insert(order);
-        if (order.getItems() != null) {
-            for (org.example.membership.dto.OrderItemRequest itemReq : order.getItems()) {
-                OrderItem item = new OrderItem();
-                org.example.membership.entity.Order ref = new org.example.membership.entity.Order();
-                ref.setId(order.getId());
-                item.setOrder(ref);
-                org.example.membership.entity.Product product = productMapper.findById(itemReq.getProductId());
-                item.setProduct(product);
-                item.setQuantity(itemReq.getQuantity());
-                item.setItemPrice(product.getPrice());
-                orderItemMapper.insert(item);
-            }
+
+        // 항목은 multi-row INSERT 1회
+        if (!items.isEmpty()) {
+            orderItemMapper.insertAll(order.getId(), items);
         }
         return order;
     }
@@ -0,0 +1,14 @@
+-- coupon_usage 중복 사용 방지 유니크 키 (uk_coupon_usage_issue_log) 수동 적용 스크립트
+-- ddl-auto: update 는 기존 데이터에 중복이 있으면 키 생성에 실패하고 조용히 넘어가므로,
+-- 기동 시 CouponUsageSchemaVerifier 가 키 누락을 감지해 기동을 중단하면 이 스크립트로 정리 후 재기동합니다.
+
+-- 1) 중복 사용 정리: 발급 1건당 가장 먼저 기록된 사용(id 최소)만 남기고 삭제
+DELETE cu
+FROM coupon_usage cu
+JOIN coupon_usage keep
+  ON keep.coupon_issue_log_id = cu.coupon_issue_log_id
+ AND keep.id < cu.id;
+
+-- 2) 유니크 키 생성
+ALTER TABLE coupon_usage
+    ADD CONSTRAINT uk_coupon_usage_issue_log UNIQUE (coupon_issue_log_id);